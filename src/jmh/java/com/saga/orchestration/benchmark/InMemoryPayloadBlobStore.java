@@ -0,0 +1,43 @@
+package com.saga.orchestration.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.saga.orchestration.model.PayloadBlob;
+import com.saga.orchestration.saga.claimcheck.PayloadBlobStore;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Substitui o Mongo no claim-check. Devolve cópias, porque o {@code PayloadStore} descomprime o
+ * blob lido no próprio objeto.
+ */
+final class InMemoryPayloadBlobStore implements PayloadBlobStore {
+
+    private final Map<String, PayloadBlob> blobs = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<PayloadBlob> findById(String reference) {
+        return Mono.justOrEmpty(blobs.get(reference)).map(InMemoryPayloadBlobStore::copy);
+    }
+
+    @Override
+    public Mono<Boolean> upsert(PayloadBlob blob) {
+        PayloadBlob previous = blobs.putIfAbsent(blob.getReference(), copy(blob));
+        if (previous != null) {
+            previous.setCreatedAt(blob.getCreatedAt());
+        }
+        return Mono.just(previous == null);
+    }
+
+    private static PayloadBlob copy(PayloadBlob blob) {
+        PayloadBlob copy = new PayloadBlob();
+        copy.setReference(blob.getReference());
+        copy.setContentType(blob.getContentType());
+        copy.setSize(blob.getSize());
+        copy.setCompressed(blob.isCompressed());
+        copy.setData(blob.getData());
+        copy.setCreatedAt(blob.getCreatedAt());
+        return copy;
+    }
+}
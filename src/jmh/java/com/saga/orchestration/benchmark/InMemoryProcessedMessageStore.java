@@ -0,0 +1,27 @@
+package com.saga.orchestration.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.saga.orchestration.saga.dedup.ProcessedMessageStore;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Substitui o Mongo no tier compartilhado da deduplicação; as chaves não expiram.
+ */
+final class InMemoryProcessedMessageStore implements ProcessedMessageStore {
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        return Mono.just(keys.contains(key));
+    }
+
+    @Override
+    public Mono<Void> save(String key) {
+        keys.add(key);
+        return Mono.empty();
+    }
+}
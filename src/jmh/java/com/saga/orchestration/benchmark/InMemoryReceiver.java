@@ -0,0 +1,100 @@
+package com.saga.orchestration.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.rabbitmq.AcknowledgableDelivery;
+import reactor.rabbitmq.ConsumeOptions;
+import reactor.rabbitmq.Receiver;
+import reactor.rabbitmq.ReceiverOptions;
+
+/**
+ * {@link Receiver} sem broker: cada fila é um sink em memória e acks/nacks são apenas contados.
+ * As entregas são processadas de forma síncrona na thread que chama {@link #deliver}; com
+ * {@link #deliverAsync} cada fila tem uma thread própria, como o consumidor de um canal AMQP.
+ */
+final class InMemoryReceiver extends Receiver {
+
+    private final Map<String, Sinks.Many<AcknowledgableDelivery>> queues = new ConcurrentHashMap<>();
+    private final LongAdder acks = new LongAdder();
+    private final LongAdder nacks = new LongAdder();
+    private final Channel channel = channel(acks, nacks);
+    private final Map<String, Scheduler> workers = new ConcurrentHashMap<>();
+    private final AtomicLong deliveryTag = new AtomicLong();
+
+    InMemoryReceiver() {
+        super(new ReceiverOptions().connectionMono(Mono.never()));
+    }
+
+    @Override
+    public Flux<AcknowledgableDelivery> consumeManualAck(String queue, ConsumeOptions options) {
+        return queue(queue).asFlux();
+    }
+
+    @Override
+    public Flux<Delivery> consumeAutoAck(String queue, ConsumeOptions options) {
+        return queue(queue).asFlux().map(delivery -> {
+            delivery.ack();
+            return delivery;
+        });
+    }
+
+    void deliver(String queue, AMQP.BasicProperties properties, byte[] body) {
+        Delivery delivery = new Delivery(new Envelope(deliveryTag.incrementAndGet(), false, "", queue), properties, body);
+        queue(queue).emitNext(new AcknowledgableDelivery(delivery, channel, null), Sinks.EmitFailureHandler.FAIL_FAST);
+    }
+
+    /** Entrega na thread da fila, serializando as emissões no sink mesmo com vários produtores. */
+    void deliverAsync(String queue, AMQP.BasicProperties properties, byte[] body) {
+        workers.computeIfAbsent(queue, key -> Schedulers.newSingle("in-memory-" + key, true))
+                .schedule(() -> deliver(queue, properties, body));
+    }
+
+    void shutdown() {
+        workers.values().forEach(Scheduler::dispose);
+    }
+
+    long acks() {
+        return acks.sum();
+    }
+
+    long nacks() {
+        return nacks.sum();
+    }
+
+    private Sinks.Many<AcknowledgableDelivery> queue(String name) {
+        return queues.computeIfAbsent(name, key -> Sinks.many().unicast().onBackpressureBuffer());
+    }
+
+    private static Channel channel(LongAdder acks, LongAdder nacks) {
+        return (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[] {Channel.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "basicAck" -> acks.increment();
+                        case "basicNack", "basicReject" -> nacks.increment();
+                        default -> { }
+                    }
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    }
+                    if (type == int.class || type == long.class) {
+                        return 0;
+                    }
+                    return null;
+                });
+    }
+}
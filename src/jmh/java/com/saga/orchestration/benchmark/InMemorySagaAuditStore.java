@@ -0,0 +1,34 @@
+package com.saga.orchestration.benchmark;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.saga.audit.SagaAuditStore;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Substitui o Mongo: só conta os eventos recebidos em lote e, opcionalmente, repassa cada um a um listener.
+ */
+final class InMemorySagaAuditStore implements SagaAuditStore {
+
+    private final LongAdder written = new LongAdder();
+    private volatile Consumer<SagaExecution> listener = execution -> { };
+
+    @Override
+    public Mono<Void> write(List<SagaExecution> batch) {
+        written.add(batch.size());
+        batch.forEach(listener);
+        return Mono.empty();
+    }
+
+    void listen(Consumer<SagaExecution> listener) {
+        this.listener = listener;
+    }
+
+    long written() {
+        return written.sum();
+    }
+}
@@ -0,0 +1,46 @@
+package com.saga.orchestration.benchmark;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
+import reactor.rabbitmq.SendOptions;
+import reactor.rabbitmq.Sender;
+import reactor.rabbitmq.SenderOptions;
+
+/**
+ * {@link Sender} sem broker: confirma cada mensagem imediatamente, na thread de quem publica.
+ * Por padrão as mensagens são descartadas; {@link #routeTo} as encaminha, por exemplo de volta ao receiver.
+ */
+final class InMemorySender extends Sender {
+
+    private final LongAdder published = new LongAdder();
+    private volatile Consumer<OutboundMessage> route = message -> { };
+
+    InMemorySender() {
+        super(new SenderOptions().connectionMono(Mono.never()));
+    }
+
+    @Override
+    public <OMSG extends OutboundMessage> Flux<OutboundMessageResult<OMSG>> sendWithTypedPublishConfirms(
+            Publisher<OMSG> messages, SendOptions options) {
+        return Flux.from(messages).map(message -> {
+            published.increment();
+            route.accept(message);
+            return new OutboundMessageResult<>(message, true, false);
+        });
+    }
+
+    void routeTo(Consumer<OutboundMessage> route) {
+        this.route = route;
+    }
+
+    long published() {
+        return published.sum();
+    }
+}
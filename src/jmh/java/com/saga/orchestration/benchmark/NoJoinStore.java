@@ -0,0 +1,51 @@
+package com.saga.orchestration.benchmark;
+
+import java.util.Collection;
+
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.model.JoinSnapshot;
+import com.saga.orchestration.saga.join.JoinStore;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Os sagas dos benchmarks não têm steps de join: não há joins pendentes a recuperar, e qualquer
+ * ramo recebido falha a entrega.
+ */
+final class NoJoinStore implements JoinStore {
+
+    @Override
+    public Flux<JoinSnapshot> pending(Collection<String> stepNames) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Mono<JoinSnapshot> arrive(String key, String stepName, String correlationId, String branch, JoinBranch content) {
+        return unsupported(key);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> released(String key) {
+        return unsupported(key);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> release(String key, String branch) {
+        return unsupported(key);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> finish(String key) {
+        return unsupported(key);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> expire(String key) {
+        return unsupported(key);
+    }
+
+    private static Mono<JoinSnapshot> unsupported(String key) {
+        return Mono.error(() -> new UnsupportedOperationException("Join sem store nos benchmarks: " + key));
+    }
+}
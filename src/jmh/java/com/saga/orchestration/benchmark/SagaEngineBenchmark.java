@@ -0,0 +1,137 @@
+package com.saga.orchestration.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rabbitmq.client.AMQP;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.saga.SagaHeaders;
+import com.saga.orchestration.saga.StepDefinition;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.OutboundMessage;
+
+/**
+ * Hot path do {@link com.saga.orchestration.saga.SagaEngine} sobre o {@code VendasSaga}, sem broker
+ * nem banco. {@code pipeline} mede a mensagem inteira (dedup, auditoria, codec, step, publish com
+ * confirm e ack); os demais isolam cada fase.
+ *
+ * <p>Alocação por mensagem: {@code ./mvnw -Pjmh compile exec:exec -Djmh.args="SagaEngineBenchmark -prof gc"}
+ * ({@code gc.alloc.rate.norm} é bytes/op).
+ *
+ * <p>{@code propostaEmissaoAutomovel} fica de fora por ser dominado pelos {@code System.out} do step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SagaEngineBenchmark {
+
+    private static final byte[] CLIENTE_JSON =
+            "{\"nome\":\"João da Silva\",\"email\":\"tiago@tiago.com\",\"telefone\":\"11999999999\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TEXT = "Pedido criado para o cliente: João da Silva->pedido_ok".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"criarPedido", "criarPagamento"})
+    public String stepName;
+
+    /** Com fusão, {@code criarPedido} entrega direto para {@code criarPagamento} na mesma chamada. */
+    @Param({"false", "true"})
+    public boolean fusion;
+
+    private SagaEngineHarness harness;
+    private StepDefinition definition;
+    private byte[] body;
+    private String contentType;
+    private Object decoded;
+    private Object result;
+    private OutboundMessage outbound;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        harness = new SagaEngineHarness();
+        harness.sagaProperties.getTransport().setFusion(fusion);
+        harness.start();
+
+        definition = harness.registry.get(stepName);
+        boolean typed = definition.consumeDTO() != Void.class;
+        body = typed ? CLIENTE_JSON : TEXT;
+        contentType = typed ? SagaCodecs.JSON : "text/plain";
+        decoded = definition.codec().decode(body, contentType);
+        result = ((Mono<?>) definition.invoker().invoke(decoded)).block();
+        outbound = new OutboundMessage("teste", "bench", new AMQP.BasicProperties.Builder().build(), definition.codec().encode(result));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long delivered = sequence;
+        long acked = harness.receiver.acks();
+        harness.close();
+        if (harness.receiver.nacks() > 0) {
+            throw new IllegalStateException(harness.receiver.nacks() + " mensagens rejeitadas durante o benchmark");
+        }
+        System.out.printf("%n%s: %d entregues, %d acks, %d publicadas, %d auditadas%n",
+                stepName, delivered, acked, harness.sender.published(), harness.auditStore.written());
+    }
+
+    @Benchmark
+    public void pipeline() {
+        long id = ++sequence;
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(SagaHeaders.CORRELATION_ID, "saga-" + id);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(contentType)
+                .messageId("m-" + id)
+                .headers(headers)
+                .build();
+        harness.receiver.deliver(definition.inputQueue(), properties, body);
+    }
+
+    @Benchmark
+    public Object dispatch() throws Throwable {
+        return definition.invoker().invoke(decoded);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return definition.codec().decode(body, contentType);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return definition.codec().encode(result);
+    }
+
+    @Benchmark
+    public void enqueue() {
+        SagaExecution execution = new SagaExecution();
+        execution.setCorrelationId("saga");
+        execution.setStepName(stepName);
+        execution.setStatus("DONE");
+        harness.auditWriter.record(execution);
+    }
+
+    @Benchmark
+    public void publish() {
+        harness.publisher.publish(outbound).block();
+    }
+}
@@ -0,0 +1,97 @@
+package com.saga.orchestration.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saga.orchestration.config.RabbitConnections;
+import com.saga.orchestration.config.RabbitProperties;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.saga.SagaEngine;
+import com.saga.orchestration.saga.StepRegistry;
+import com.saga.orchestration.saga.audit.SagaAuditWriter;
+import com.saga.orchestration.saga.claimcheck.PayloadStore;
+import com.saga.orchestration.saga.codec.JacksonCodec;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+import com.saga.orchestration.saga.dedup.DeduplicationCache;
+import com.saga.orchestration.saga.join.JoinCoordinator;
+import com.saga.orchestration.saga.publish.SagaPublisher;
+import com.saga.orchestration.saga.tracing.SagaTracing;
+import com.saga.orchestration.saga.transport.RabbitSagaTransport;
+import com.saga.orchestration.service.VendasSaga;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Monta o {@link SagaEngine} real sobre o {@link VendasSaga}, trocando broker e auditoria por
+ * implementações em memória. Não depende de Spring Boot, RabbitMQ nem MongoDB: dedup e claim-check
+ * gravam em mapas locais e não há store de joins.
+ */
+final class SagaEngineHarness implements AutoCloseable {
+
+    final GenericApplicationContext context = new GenericApplicationContext();
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final SagaProperties sagaProperties = new SagaProperties();
+    final RabbitProperties rabbitProperties = new RabbitProperties();
+    final InMemoryReceiver receiver = new InMemoryReceiver();
+    final InMemorySender sender = new InMemorySender();
+    final InMemorySagaAuditStore auditStore = new InMemorySagaAuditStore();
+    final RabbitConnections connections = new RabbitConnections(List.of(Mono.never()), List.of(receiver), List.of(sender));
+    final SagaCodecs codecs;
+    final SagaPublisher publisher;
+    final RabbitSagaTransport transport;
+    final SagaAuditWriter auditWriter;
+    final DeduplicationCache deduplication;
+    final JoinCoordinator joins;
+    final PayloadStore payloads;
+    final SagaTracing tracing;
+    final SagaEngine engine;
+    final StepRegistry registry;
+
+    SagaEngineHarness() {
+        this(properties -> { });
+    }
+
+    /** @param customizer ajusta as {@link SagaProperties} antes de os componentes do engine lerem a configuração */
+    SagaEngineHarness(Consumer<SagaProperties> customizer) {
+        context.registerBean(VendasSaga.class);
+        context.refresh();
+
+        rabbitProperties.setExchange("teste");
+        rabbitProperties.setDeclareTopology(false);
+        sagaProperties.getAudit().setCapacity(100_000);
+        sagaProperties.getAudit().setBatchSize(1_000);
+        sagaProperties.getAudit().setFlushInterval(Duration.ofMillis(10));
+        customizer.accept(sagaProperties);
+
+        codecs = new SagaCodecs(JacksonCodec.defaults(new ObjectMapper()), sagaProperties);
+        publisher = new SagaPublisher(connections, sagaProperties);
+        auditWriter = new SagaAuditWriter(auditStore, sagaProperties, meterRegistry);
+        deduplication = new DeduplicationCache(sagaProperties, new InMemoryProcessedMessageStore(), meterRegistry);
+        joins = new JoinCoordinator(new NoJoinStore(), meterRegistry);
+        payloads = new PayloadStore(sagaProperties, new InMemoryPayloadBlobStore(), meterRegistry);
+        tracing = new SagaTracing(Tracer.NOOP, Propagator.NOOP, sagaProperties);
+        transport = new RabbitSagaTransport(connections, publisher, rabbitProperties);
+        engine = new SagaEngine(transport, context, auditWriter, codecs, deduplication, joins,
+                payloads, tracing, rabbitProperties, sagaProperties, meterRegistry);
+        registry = StepRegistry.scan(context, codecs);
+    }
+
+    void start() {
+        engine.onApplicationEvent(null);
+    }
+
+    @Override
+    public void close() {
+        auditWriter.destroy();
+        publisher.destroy();
+        receiver.shutdown();
+        context.close();
+    }
+}
@@ -0,0 +1,226 @@
+package com.saga.orchestration.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.saga.orchestration.dto.request.Notification;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.saga.SagaHeaders;
+import com.saga.orchestration.saga.StepDefinition;
+import com.saga.orchestration.saga.audit.OverflowPolicy;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+
+/**
+ * Carga ponta a ponta sobre a cadeia {@code propostaEmissaoAutomovel -> criarPedido -> criarPagamento},
+ * com broker e Mongo em memória: o {@link InMemorySender} devolve cada mensagem publicada ao
+ * {@link InMemoryReceiver} (uma thread por fila) e a saga termina quando o DONE de {@code criarPagamento}
+ * chega ao store de auditoria.
+ *
+ * <p>A carga é de malha aberta: a i-ésima saga tem horário de envio fixo ({@code início + i / rate}) e a
+ * latência é medida a partir desse horário, não do envio efetivo. Assim o atraso do próprio gerador ou
+ * uma fila acumulada entra na medição em vez de ser omitido (coordinated omission).
+ *
+ * <p>Opções no formato {@code chave=valor}: {@code rate} (sagas/s, padrão 1000), {@code duration} e
+ * {@code warmup} (segundos, padrão 30 e 5), {@code drain} (segundos de espera pelas sagas em voo,
+ * padrão 10), {@code fusion} (padrão false) e {@code output} (padrão {@code target/load}).
+ *
+ * <pre>./mvnw -Pjmh compile exec:exec -Djmh.main=com.saga.orchestration.benchmark.SagaLoadGenerator -Djmh.args="rate=2000 duration=60"</pre>
+ *
+ * <p>Grava em {@code output} o log por segundo ({@code saga-latency.hlog}) e a distribuição de
+ * percentis ({@code saga-latency.hgrm}, em ms), legíveis pelo HdrHistogram Log Analyzer/Plotter.
+ */
+public final class SagaLoadGenerator {
+
+    private static final String FIRST_STEP = "propostaEmissaoAutomovel";
+    private static final String LAST_STEP = "criarPagamento";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final double rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration drain;
+    private final boolean fusion;
+    private final Path output;
+    private final PrintStream console = System.out;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final LongAdder completed = new LongAdder();
+
+    private SagaLoadGenerator(Map<String, String> options) {
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        this.drain = Duration.ofSeconds(Long.parseLong(options.getOrDefault("drain", "10")));
+        this.fusion = Boolean.parseBoolean(options.getOrDefault("fusion", "false"));
+        this.output = Path.of(options.getOrDefault("output", "target/load"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate deve ser positivo: " + rate);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Opção inválida (esperado chave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new SagaLoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        Files.createDirectories(output);
+        // propostaEmissaoAutomovel escreve em System.out a cada mensagem; o relatório usa o console original
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saga-load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (SagaEngineHarness harness = new SagaEngineHarness(properties -> {
+                    // a conclusão é observada na auditoria: flush curto e sem descarte de eventos
+                    properties.getAudit().setFlushInterval(Duration.ofMillis(1));
+                    properties.getAudit().setOverflowPolicy(OverflowPolicy.BLOCK);
+                    properties.getTransport().setFusion(fusion);
+                });
+                PrintStream hlog = new PrintStream(Files.newOutputStream(output.resolve("saga-latency.hlog")))) {
+            harness.sender.routeTo(message -> harness.receiver.deliverAsync(
+                    message.getRoutingKey(), message.getProperties(), message.getBody()));
+            harness.auditStore.listen(this::onAudit);
+            harness.start();
+
+            HistogramLogWriter log = new HistogramLogWriter(hlog);
+            long startedAt = System.currentTimeMillis();
+            log.outputLogFormatVersion();
+            log.outputStartTime(startedAt);
+            log.setBaseTime(startedAt);
+            log.outputLegend();
+            reporter.scheduleAtFixedRate(() -> report(log), 1, 1, TimeUnit.SECONDS);
+
+            long sent = inject(harness, harness.registry.get(FIRST_STEP));
+            awaitDrain();
+
+            reporter.shutdown();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+            report(log);
+            writePercentiles();
+            summary(sent, harness);
+        } finally {
+            reporter.shutdownNow();
+            System.setOut(console);
+        }
+    }
+
+    /** Envia as sagas nos horários planejados; só as posteriores ao aquecimento entram na medição. */
+    private long inject(SagaEngineHarness harness, StepDefinition first) throws IOException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long warmupCount = (long) (rate * warmup.toSeconds());
+        long count = warmupCount + (long) (rate * duration.toSeconds());
+        console.printf("Carga: %.0f sagas/s por %ds (+%ds de aquecimento), fusão %s%n",
+                rate, duration.toSeconds(), warmup.toSeconds(), fusion ? "ligada" : "desligada");
+
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            String correlationId = "load-" + i;
+            if (i >= warmupCount) {
+                pending.put(correlationId, intended);
+            }
+            send(harness, first, correlationId);
+        }
+        return count - warmupCount;
+    }
+
+    private void send(SagaEngineHarness harness, StepDefinition first, String correlationId) throws IOException {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(SagaHeaders.CORRELATION_ID, correlationId);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(SagaCodecs.JSON)
+                .messageId(correlationId)
+                .headers(headers)
+                .build();
+        byte[] body = mapper.writeValueAsBytes(new Notification(
+                "PROPOSTA_EMITIDA", correlationId, first.inputQueue(), 1, Instant.now().toString()));
+        harness.receiver.deliverAsync(first.inputQueue(), properties, body);
+    }
+
+    private void onAudit(SagaExecution execution) {
+        if (!LAST_STEP.equals(execution.getStepName()) || !"DONE".equals(execution.getStatus())) {
+            return;
+        }
+        Long intended = pending.remove(execution.getCorrelationId());
+        if (intended != null) {
+            recorder.recordValue(System.nanoTime() - intended);
+            completed.increment();
+        }
+    }
+
+    private void awaitDrain() {
+        long deadline = System.nanoTime() + drain.toNanos();
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private synchronized void report(HistogramLogWriter log) {
+        Histogram interval = recorder.getIntervalHistogram();
+        if (interval.getTotalCount() == 0) {
+            return;
+        }
+        log.outputIntervalHistogram(interval);
+        total.add(interval);
+        console.printf("%6d sagas  p50=%8.2fms  p99=%8.2fms  max=%8.2fms  em voo=%d%n",
+                interval.getTotalCount(),
+                interval.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                interval.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                interval.getMaxValue() / NANOS_PER_MILLI,
+                pending.size());
+    }
+
+    private void writePercentiles() throws IOException {
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve("saga-latency.hgrm")))) {
+            total.outputPercentileDistribution(hgrm, 5, NANOS_PER_MILLI);
+        }
+    }
+
+    private void summary(long sent, SagaEngineHarness harness) {
+        console.printf("%nSagas: %d enviadas, %d concluídas, %d sem conclusão após %ds de drenagem%n",
+                sent, completed.sum(), pending.size(), drain.toSeconds());
+        console.printf("Latência ponta a ponta (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                total.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                total.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                total.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                total.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                total.getMaxValue() / NANOS_PER_MILLI);
+        console.printf("Broker em memória: %d publicadas, %d acks, %d nacks; relatórios em %s%n",
+                harness.sender.published(), harness.receiver.acks(), harness.receiver.nacks(), output.toAbsolutePath());
+    }
+}
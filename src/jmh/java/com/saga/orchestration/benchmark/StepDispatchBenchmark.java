@@ -0,0 +1,93 @@
+package com.saga.orchestration.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saga.orchestration.annotations.Fallback;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.saga.StepDefinition;
+import com.saga.orchestration.saga.StepRegistry;
+import com.saga.orchestration.saga.codec.JacksonCodec;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+import com.saga.orchestration.service.VendasSaga;
+
+/**
+ * Custo de dispatch por mensagem: {@code Method.invoke} + varredura de métodos no caminho de falha
+ * (modelo anterior) contra invoker pré-compilado + lookup no {@link StepRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepDispatchBenchmark {
+
+    private static final String PAYLOAD = "pedido";
+
+    private GenericApplicationContext context;
+    private VendasSaga bean;
+    private Method[] methods;
+    private Method stepMethod;
+    private StepRegistry registry;
+    private StepDefinition definition;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        context = new GenericApplicationContext();
+        context.registerBean(VendasSaga.class);
+        context.refresh();
+
+        bean = context.getBean(VendasSaga.class);
+        methods = bean.getClass().getDeclaredMethods();
+        stepMethod = VendasSaga.class.getMethod("criarPagamento", String.class);
+        registry = StepRegistry.scan(context, new SagaCodecs(JacksonCodec.defaults(new ObjectMapper()), new SagaProperties()));
+        definition = registry.get("criarPagamento");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object reflectiveInvoke() throws Exception {
+        return stepMethod.invoke(bean, PAYLOAD);
+    }
+
+    @Benchmark
+    public Object precompiledInvoke() throws Throwable {
+        return definition.invoker().invoke(PAYLOAD);
+    }
+
+    @Benchmark
+    public Object reflectiveFallbackLookup() throws Exception {
+        for (Method method : methods) {
+            Fallback fallback = method.getAnnotation(Fallback.class);
+            if (fallback != null && fallback.forStep().equals("criarPedido")) {
+                return method.invoke(bean, PAYLOAD);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object precompiledFallbackLookup() throws Throwable {
+        return registry.get("criarPedido").fallback().invoker().invoke(PAYLOAD);
+    }
+}
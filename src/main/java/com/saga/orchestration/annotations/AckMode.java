@@ -0,0 +1,8 @@
+package com.saga.orchestration.annotations;
+
+public enum AckMode {
+    /** Ack no recebimento, antes do processamento (comportamento at-most-once). */
+    AUTO,
+    /** Ack somente após o processamento e a publicação na fila de saída (at-least-once). */
+    MANUAL
+}
@@ -0,0 +1,13 @@
+package com.saga.orchestration.annotations;
+
+public enum ExecutionMode {
+    /** Método invocado na thread de entrega; deve retornar um Mono não bloqueante. */
+    REACTIVE,
+    /**
+     * Cada invocação roda em uma virtual thread (Java 21+). Em runtimes sem virtual threads
+     * o step usa o pool de {@link #BOUNDED_ELASTIC}.
+     */
+    VIRTUAL_THREADS,
+    /** Invocações bloqueantes em um pool de threads limitado, dedicado ao step. */
+    BOUNDED_ELASTIC
+}
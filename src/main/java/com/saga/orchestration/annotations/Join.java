@@ -0,0 +1,23 @@
+package com.saga.orchestration.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.ElementType;
+
+/**
+ * Marca um {@link Step} como agregador (fan-in): o método só é invocado quando as saídas dos
+ * ramos de uma mesma saga chegam na fila consumida, recebendo um {@code Map} nome do ramo →
+ * payload desserializado no consumeDTO. Se o quorum não é atingido no prazo, o join falha e
+ * os ramos concluídos são compensados com seus {@link Rollback}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Join {
+    /** Nome dos steps (métodos {@code @Step}) de cada ramo. */
+    String[] branches();
+    /** Quantidade de ramos que libera o join (0 = todos). */
+    int quorum() default 0;
+    /** Prazo, a partir do primeiro ramo recebido, para atingir o quorum (0 = sem prazo). */
+    long timeoutMillis() default 30000;
+}
@@ -0,0 +1,21 @@
+package com.saga.orchestration.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Argumentos da fila de entrada de um {@link Step}, aplicados na declaração da topologia.
+ * Alterar os argumentos de uma fila já existente exige recriá-la no broker.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueueOptions {
+    QueueType type() default QueueType.CLASSIC;
+    /** Mantém as mensagens em disco em vez de memória; só para filas clássicas. */
+    boolean lazy() default false;
+    /** Máximo de mensagens prontas na fila (0 = sem limite); acima disso o broker recusa a publicação. */
+    long maxLength() default 0;
+    /** Mensagens rejeitadas sem requeue vão para {@code <fila>.dlq} em vez de serem descartadas. */
+    boolean deadLetter() default false;
+}
@@ -0,0 +1,7 @@
+package com.saga.orchestration.annotations;
+
+public enum QueueType {
+    CLASSIC,
+    /** Fila replicada (Raft) entre os nós do cluster. */
+    QUORUM
+}
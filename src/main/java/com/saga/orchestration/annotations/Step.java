@@ -10,7 +10,51 @@ import java.lang.annotation.ElementType;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Step {
     String consume();
-    String produce() default "";
+    /** Filas de saída; com mais de uma, a mesma saída é publicada em todas (fan-out). */
+    String[] produce() default {};
     Class<?> consumeDTO() default Void.class;
     Class<?> produceDTO() default Void.class;
-}
\ No newline at end of file
+
+    QueueOptions queue() default @QueueOptions;
+    /** Consumers da fila de entrada, distribuídos entre as conexões de {@code rabbitmq.connections}. */
+    int consumers() default 1;
+
+    /** basic.qos do consumer: máximo de mensagens não confirmadas entregues pelo broker. */
+    int prefetch() default 250;
+    /** Máximo de mensagens processadas em paralelo pelo step. */
+    int concurrency() default 32;
+    /**
+     * Ajusta o número de mensagens simultâneas pela latência observada, entre
+     * {@link #minConcurrency()} e {@link #concurrency()}. Não se aplica com {@link #partitions()}.
+     */
+    boolean adaptiveConcurrency() default false;
+    int minConcurrency() default 1;
+    AckMode ackMode() default AckMode.MANUAL;
+    /** Onde o método do step roda; use um modo bloqueante para integrações imperativas (JDBC, HTTP síncrono). */
+    ExecutionMode execution() default ExecutionMode.REACTIVE;
+    /** Máximo de invocações simultâneas nos modos bloqueantes. */
+    int executionThreads() default 16;
+    /**
+     * Trilhos de execução particionados por hash do correlationId (0 = desligado; 1 processa a fila
+     * inteira em ordem, uma mensagem por vez). Mensagens da
+     * mesma saga são processadas em ordem, uma por vez; sagas diferentes rodam em paralelo, e
+     * {@link #concurrency()} passa a não ser usado. Retries saem do trilho e voltam pela fila de
+     * espera, portanto não preservam a ordem.
+     */
+    int partitions() default 0;
+
+    /** Tempo máximo de uma invocação do step, em millis (0 = sem limite além do deadline da saga). */
+    long timeoutMillis() default 0;
+    /**
+     * Prazo da saga quando ela começa neste step (mensagem sem {@code x-deadline}), em millis
+     * contados do início da saga. 0 usa {@code saga.deadline.default-sla}.
+     */
+    long slaMillis() default 0;
+
+    /** Total de tentativas antes de fallback/rollback (1 = sem retry). */
+    int maxAttempts() default 1;
+    long initialBackoffMillis() default 1000;
+    double multiplier() default 2.0;
+    /** Variação aleatória do backoff, de 0 a 1 (0.2 = ±20%). */
+    double jitter() default 0.2;
+}
@@ -0,0 +1,62 @@
+package com.saga.orchestration.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.model.JoinSnapshot;
+import com.saga.orchestration.model.PayloadBlob;
+import com.saga.orchestration.model.ProcessedMessage;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.model.SagaInstance;
+import com.saga.orchestration.saga.join.JoinCoordinator;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cria os índices das coleções de saga antes do {@code ApplicationReadyEvent}, ou seja,
+ * antes de o {@code SagaEngine} começar a consumir.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer implements ApplicationRunner {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SagaProperties sagaProperties;
+
+    public MongoIndexInitializer(ReactiveMongoTemplate mongoTemplate, SagaProperties sagaProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.sagaProperties = sagaProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Mono.when(
+            mongoTemplate.indexOps(SagaExecution.class).ensureIndex(new Index().on("correlationId", Sort.Direction.ASC).on("createdAt", Sort.Direction.ASC)),
+            mongoTemplate.indexOps(SagaExecution.class).ensureIndex(keyset(new Index().on("status", Sort.Direction.ASC))),
+            mongoTemplate.indexOps(SagaExecution.class).ensureIndex(keyset(new Index())),
+            mongoTemplate.indexOps(SagaInstance.class).ensureIndex(keyset(new Index().on("status", Sort.Direction.ASC))),
+            mongoTemplate.indexOps(SagaInstance.class).ensureIndex(keyset(new Index())),
+            mongoTemplate.indexOps(JoinSnapshot.class).ensureIndex(new Index().on("finishedAt", Sort.Direction.ASC).expire(JoinCoordinator.FINISHED_RETENTION)),
+            sagaProperties.getDedup().isShared()
+                ? mongoTemplate.indexOps(ProcessedMessage.class).ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(sagaProperties.getDedup().getSharedTtl()))
+                : Mono.<String>empty(),
+            sagaProperties.getClaimCheck().isEnabled()
+                ? mongoTemplate.indexOps(PayloadBlob.class).ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(sagaProperties.getClaimCheck().getTtl()))
+                : Mono.<String>empty()
+        )
+        .doOnSuccess(v -> log.info("Índices do Mongo criados"))
+        .block(Duration.ofSeconds(30));
+    }
+
+    /** Sufixo (createdAt, _id) usado pela paginação por keyset do {@code SagaQueryService}. */
+    private static Index keyset(Index index) {
+        return index.on("createdAt", Sort.Direction.ASC).on("_id", Sort.Direction.ASC);
+    }
+}
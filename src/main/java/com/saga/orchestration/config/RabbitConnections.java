@@ -0,0 +1,102 @@
+package com.saga.orchestration.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.RabbitFlux;
+import reactor.rabbitmq.Receiver;
+import reactor.rabbitmq.ReceiverOptions;
+import reactor.rabbitmq.Sender;
+import reactor.rabbitmq.SenderOptions;
+
+/**
+ * Pool de conexões com o broker, cada uma com seu {@link Receiver} e {@link Sender}. As conexões
+ * são abertas no primeiro uso; os índices são circulares, então qualquer inteiro escolhe uma conexão.
+ */
+@Slf4j
+public class RabbitConnections implements DisposableBean {
+
+    private final List<Mono<Connection>> connections;
+    private final List<Receiver> receivers;
+    private final List<Sender> senders;
+    /** Conexões efetivamente abertas, fechadas no shutdown. */
+    private final Queue<Connection> opened;
+
+    public RabbitConnections(List<Mono<Connection>> connections, List<Receiver> receivers, List<Sender> senders) {
+        this(connections, receivers, senders, new ConcurrentLinkedQueue<>());
+    }
+
+    private RabbitConnections(List<Mono<Connection>> connections, List<Receiver> receivers, List<Sender> senders,
+            Queue<Connection> opened) {
+        this.connections = List.copyOf(connections);
+        this.receivers = List.copyOf(receivers);
+        this.senders = List.copyOf(senders);
+        this.opened = opened;
+    }
+
+    public static RabbitConnections create(RabbitProperties properties) {
+        ConnectionFactory cf = new ConnectionFactory();
+        cf.setHost(properties.getHost());
+        cf.setPort(properties.getPort());
+        cf.setUsername(properties.getUsername());
+        cf.setPassword(properties.getPassword());
+        cf.setVirtualHost(properties.getVirtualHost());
+        cf.useNio();
+
+        List<Mono<Connection>> connections = new ArrayList<>();
+        List<Receiver> receivers = new ArrayList<>();
+        List<Sender> senders = new ArrayList<>();
+        Queue<Connection> opened = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < Math.max(1, properties.getConnections()); i++) {
+            String name = "saga-" + i;
+            Mono<Connection> connection = Mono.fromCallable(() -> cf.newConnection(name))
+                    .doOnNext(opened::add)
+                    .cache();
+            connections.add(connection);
+            receivers.add(RabbitFlux.createReceiver(new ReceiverOptions().connectionMono(connection)));
+            senders.add(RabbitFlux.createSender(new SenderOptions().connectionMono(connection)));
+        }
+        return new RabbitConnections(connections, receivers, senders, opened);
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    public Mono<Connection> connection(int index) {
+        return connections.get(Math.floorMod(index, connections.size()));
+    }
+
+    public Receiver receiver(int index) {
+        return receivers.get(Math.floorMod(index, receivers.size()));
+    }
+
+    public Sender sender(int index) {
+        return senders.get(Math.floorMod(index, senders.size()));
+    }
+
+    @Override
+    public void destroy() {
+        receivers.forEach(Receiver::close);
+        senders.forEach(Sender::close);
+        for (Connection connection : opened) {
+            try {
+                if (connection.isOpen()) {
+                    connection.close();
+                }
+            } catch (IOException e) {
+                log.warn("Erro ao fechar a conexão {}", connection.getClientProvidedName(), e);
+            }
+        }
+    }
+}
@@ -13,14 +13,15 @@ public class RabbitProperties {
 
     private String exchange;
 
-    private RoutingKeys routingKeys;
+    private String host = "localhost";
+    private int port = 5672;
+    private String username = "guest";
+    private String password = "guest";
+    private String virtualHost = "/";
 
-    @Getter
-    @Setter
-    public static class RoutingKeys {
-        private String queuePropostaEmissaoAutomovel;
-        private String queueEmitirPropostaAutomovel;
-        private String queuePropostaAutomovelTransmitida;
-        private String queueStatusEmissaoProposta;
-    }
+    /** Conexões TCP com o broker; consumers e canais de publicação são distribuídos entre elas. */
+    private int connections = 1;
+
+    /** Declara exchange, filas e bindings a partir dos {@code @Step} antes de os consumers começarem. */
+    private boolean declareTopology = true;
 }
@@ -0,0 +1,31 @@
+package com.saga.orchestration.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saga.orchestration.saga.codec.JacksonCodec;
+import com.saga.orchestration.saga.codec.SagaCodec;
+
+/**
+ * Formatos padrão das mensagens. Outros formatos entram como beans {@link SagaCodec} adicionais,
+ * um por content-type.
+ */
+@Configuration
+public class SagaCodecConfig {
+
+    @Bean
+    public SagaCodec jsonCodec(ObjectMapper objectMapper) {
+        return JacksonCodec.json(objectMapper);
+    }
+
+    @Bean
+    public SagaCodec smileCodec(ObjectMapper objectMapper) {
+        return JacksonCodec.smile(objectMapper);
+    }
+
+    @Bean
+    public SagaCodec cborCodec(ObjectMapper objectMapper) {
+        return JacksonCodec.cbor(objectMapper);
+    }
+}
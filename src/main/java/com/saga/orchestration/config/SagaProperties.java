@@ -0,0 +1,124 @@
+package com.saga.orchestration.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.saga.audit.AuditMode;
+import com.saga.orchestration.saga.audit.OverflowPolicy;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "saga")
+@Getter
+@Setter
+public class SagaProperties {
+
+    private Audit audit = new Audit();
+    private Publisher publisher = new Publisher();
+    private Codec codec = new Codec();
+    private Dedup dedup = new Dedup();
+    private Transport transport = new Transport();
+    private Deadline deadline = new Deadline();
+    private ClaimCheck claimCheck = new ClaimCheck();
+    private Tracing tracing = new Tracing();
+
+    @Getter
+    @Setter
+    public static class Audit {
+        private AuditMode mode = AuditMode.INSTANCE;
+        /** Capacidade da fila em memória entre o engine e o Mongo. */
+        private int capacity = 10_000;
+        /** Quantidade máxima de documentos por bulk insert. */
+        private int batchSize = 500;
+        /** Intervalo máximo entre flushes quando o lote não enche. */
+        private Duration flushInterval = Duration.ofMillis(200);
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        /** Tempo máximo de espera por espaço na fila com a política BLOCK (bloqueia a thread do step). */
+        private Duration blockTimeout = Duration.ofSeconds(1);
+        /** Espera máxima no shutdown pelo lote em gravação e pelo flush do que restou na fila. */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Publisher {
+        /** Canais de publicação (cada um com sua própria janela de confirms). */
+        private int channels = 4;
+        /** Mensagens publicadas aguardando confirm, por canal. */
+        private int maxInFlight = 256;
+        private Duration confirmTimeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Codec {
+        /** Formato das mensagens publicadas: application/json, application/x-jackson-smile ou application/cbor. */
+        private String contentType = "application/json";
+    }
+
+    @Getter
+    @Setter
+    public static class Dedup {
+        private boolean enabled = true;
+        /** Entradas mantidas no tier em memória. */
+        private long maximumSize = 100_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        /** Habilita o tier compartilhado no Mongo (coleção saga_processed_messages). */
+        private boolean shared = false;
+        private Duration sharedTtl = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Deadline {
+        /** Prazo padrão de uma saga a partir do primeiro step ({@code 0s} = sem prazo). */
+        private Duration defaultSla = Duration.ZERO;
+        /** Aciona fallback/rollback do step para mensagens descartadas por deadline vencido. */
+        private boolean compensateExpired = false;
+    }
+
+    @Getter
+    @Setter
+    public static class ClaimCheck {
+        /** Grava payloads grandes uma vez em saga_payloads; a auditoria guarda só a referência. */
+        private boolean enabled = false;
+        /** Tamanho mínimo, em bytes, para o payload ir para o claim-check. */
+        private int threshold = 16 * 1024;
+        /** Publica no broker só a referência (header x-claim-check) em vez do corpo. */
+        private boolean broker = false;
+        /** Retenção dos payloads (índice TTL em saga_payloads). */
+        private Duration ttl = Duration.ofDays(7);
+        /** Gravações de payloads de auditoria em andamento; acima disso o payload fica no próprio registro. */
+        private int maxPendingWrites = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+        /**
+         * Entrega a saída de um step direto ao step local que consome a fila de destino, sem
+         * passar pelo broker. Pressupõe que a routing key de cada fila de step não tem outros
+         * bindings (outros consumidores da mesma routing key não recebem a mensagem).
+         */
+        private boolean fusion = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Tracing {
+        /**
+         * Span por step com trace context W3C nos headers AMQP. A amostragem de novas sagas segue
+         * {@code management.tracing.sampling.probability}; as demais herdam a decisão do traceparent.
+         */
+        private boolean enabled = true;
+        /**
+         * Spans filhos por fase (broker-wait, deserialize, invoke, enqueue, publish), só nos steps
+         * amostrados. Desligado por padrão: multiplica por ~6 os spans exportados por step.
+         */
+        private boolean phases = false;
+    }
+}
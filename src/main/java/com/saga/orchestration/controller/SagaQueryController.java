@@ -0,0 +1,97 @@
+package com.saga.orchestration.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.saga.orchestration.dto.response.SagaPage;
+import com.saga.orchestration.dto.response.SagaSummary;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.model.SagaStepRecord;
+import com.saga.orchestration.saga.audit.SagaAuditWriter;
+import com.saga.orchestration.saga.claimcheck.PayloadStore;
+import com.saga.orchestration.service.SagaQueryService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/sagas")
+public class SagaQueryController {
+
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private final SagaQueryService queryService;
+    private final SagaAuditWriter auditWriter;
+    private final PayloadStore payloadStore;
+
+    public SagaQueryController(SagaQueryService queryService, SagaAuditWriter auditWriter, PayloadStore payloadStore) {
+        this.queryService = queryService;
+        this.auditWriter = auditWriter;
+        this.payloadStore = payloadStore;
+    }
+
+    @GetMapping("/{correlationId}")
+    public Flux<SagaStepRecord> timeline(@PathVariable String correlationId) {
+        return queryService.timeline(correlationId)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Saga não encontrada: " + correlationId)));
+    }
+
+    @GetMapping
+    public Mono<SagaPage<SagaSummary>> page(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return queryService.page(status, from, to, cursor, limit);
+    }
+
+    /**
+     * Conteúdo de um payload do claim-check, pela referência {@code sha256:...} gravada na auditoria.
+     */
+    @GetMapping("/payloads/{reference}")
+    public Mono<ResponseEntity<byte[]>> payload(@PathVariable String reference) {
+        return payloadStore.find(reference)
+                .map(blob -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(blob.getContentType()))
+                        .body(blob.getData()))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Payload não encontrado: " + reference)));
+    }
+
+    /**
+     * Transições ao vivo, alimentadas pelo pipeline de auditoria (sem polling no Mongo).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<SagaExecution>> stream(
+            @RequestParam(required = false) String correlationId,
+            @RequestParam(required = false) String status) {
+        Flux<ServerSentEvent<SagaExecution>> events = auditWriter.transitions()
+                .filter(execution -> correlationId == null || correlationId.equals(execution.getCorrelationId()))
+                .filter(execution -> status == null || status.equals(execution.getStatus()))
+                .map(execution -> ServerSentEvent.builder(execution)
+                        .id(execution.getId())
+                        .event(execution.getStatus())
+                        .build());
+        Flux<ServerSentEvent<SagaExecution>> heartbeats = Flux.interval(HEARTBEAT)
+                .map(tick -> ServerSentEvent.<SagaExecution>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
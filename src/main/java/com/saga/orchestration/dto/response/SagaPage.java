@@ -0,0 +1,8 @@
+package com.saga.orchestration.dto.response;
+
+import java.util.List;
+
+/**
+ * Página de resultados com cursor opaco para a próxima página ({@code null} na última).
+ */
+public record SagaPage<T>(List<T> items, String nextCursor) {}
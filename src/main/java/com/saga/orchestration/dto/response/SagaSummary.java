@@ -0,0 +1,11 @@
+package com.saga.orchestration.dto.response;
+
+import java.time.Instant;
+
+public record SagaSummary(
+    String correlationId,
+    String currentStep,
+    String status,
+    Instant createdAt,
+    Instant updatedAt
+) {}
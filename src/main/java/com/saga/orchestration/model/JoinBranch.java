@@ -0,0 +1,18 @@
+package com.saga.orchestration.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saída de um ramo recebida pelo join, no formato em que chegou do broker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JoinBranch {
+
+    private String contentType;
+    private byte[] body;
+
+}
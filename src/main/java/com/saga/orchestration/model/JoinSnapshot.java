@@ -0,0 +1,34 @@
+package com.saga.orchestration.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado compartilhado de um join, decidido por updates atômicos: os ramos recebidos, o ramo
+ * que o liberou e, após sucesso, falha ou expiração, o instante de término. Joins terminados
+ * ficam como marca para descartar ramos atrasados até o índice TTL em {@code finishedAt} removê-los.
+ */
+@Data
+@Document(collection = "saga_joins")
+public class JoinSnapshot {
+
+    @Id
+    private String id;
+    private String stepName;
+    private String correlationId;
+    private Instant createdAt;
+    private Map<String, JoinBranch> branches = new LinkedHashMap<>();
+    /** Ramos distintos recebidos ({@code $addToSet}); o tamanho decide o quorum. */
+    private List<String> arrived = new ArrayList<>();
+    private String releasedBy;
+    private Instant finishedAt;
+
+}
@@ -0,0 +1,26 @@
+package com.saga.orchestration.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Payload armazenado uma única vez pelo claim-check, identificado pelo SHA-256 do conteúdo.
+ */
+@Data
+@Document(collection = "saga_payloads")
+public class PayloadBlob {
+
+    @Id
+    private String reference;
+    private String contentType;
+    /** Tamanho original, antes da compressão. */
+    private int size;
+    private boolean compressed;
+    private byte[] data;
+    private Instant createdAt;
+
+}
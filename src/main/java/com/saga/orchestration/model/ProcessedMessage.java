@@ -0,0 +1,25 @@
+package com.saga.orchestration.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Mensagem já processada por um step (tier compartilhado da deduplicação), expirada por índice TTL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "saga_processed_messages")
+public class ProcessedMessage {
+
+    @Id
+    private String key;
+    private Instant createdAt;
+
+}
@@ -20,6 +20,7 @@ public class SagaExecution {
     private String outputQueue;
     private String fallback;
     private String rollback;
+    /** Corpo da mensagem em texto, ou a referência {@code sha256:...} quando está no claim-check. */
     private String payload;
     private String message;
     private String status;
@@ -0,0 +1,27 @@
+package com.saga.orchestration.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Documento único por saga, identificado pelo correlationId, com o histórico de steps embutido.
+ */
+@Data
+@Document(collection = "saga_instances")
+public class SagaInstance {
+
+    @Id
+    private String correlationId;
+    private String currentStep;
+    private String status;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private List<SagaStepRecord> steps = new ArrayList<>();
+
+}
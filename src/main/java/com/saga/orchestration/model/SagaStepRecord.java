@@ -0,0 +1,33 @@
+package com.saga.orchestration.model;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class SagaStepRecord {
+
+    private String stepName;
+    private String inputQueue;
+    private String outputQueue;
+    private String fallback;
+    private String rollback;
+    private String payload;
+    private String message;
+    private String status;
+    private Instant createdAt;
+
+    public static SagaStepRecord from(SagaExecution execution) {
+        SagaStepRecord record = new SagaStepRecord();
+        record.setStepName(execution.getStepName());
+        record.setInputQueue(execution.getInputQueue());
+        record.setOutputQueue(execution.getOutputQueue());
+        record.setFallback(execution.getFallback());
+        record.setRollback(execution.getRollback());
+        record.setPayload(execution.getPayload());
+        record.setMessage(execution.getMessage());
+        record.setStatus(execution.getStatus());
+        record.setCreatedAt(execution.getCreatedAt());
+        return record;
+    }
+}
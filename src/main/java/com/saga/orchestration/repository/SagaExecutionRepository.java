@@ -5,6 +5,10 @@ import org.springframework.stereotype.Repository;
 
 import com.saga.orchestration.model.SagaExecution;
 
+import reactor.core.publisher.Flux;
+
 @Repository
 public interface SagaExecutionRepository extends ReactiveMongoRepository<SagaExecution, String> {
+
+    Flux<SagaExecution> findByCorrelationIdOrderByCreatedAtAsc(String correlationId);
 }
@@ -0,0 +1,10 @@
+package com.saga.orchestration.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.saga.orchestration.model.SagaInstance;
+
+@Repository
+public interface SagaInstanceRepository extends ReactiveMongoRepository<SagaInstance, String> {
+}
@@ -1,161 +1,629 @@
 package com.saga.orchestration.saga;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rabbitmq.client.AMQP;
-import com.saga.orchestration.annotations.Fallback;
-import com.saga.orchestration.annotations.Rollback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
 import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.config.RabbitProperties;
+import com.saga.orchestration.config.SagaProperties;
 import com.saga.orchestration.model.SagaExecution;
-import com.saga.orchestration.repository.SagaExecutionRepository;
+import com.saga.orchestration.saga.StepDefinition.Compensation;
+import com.saga.orchestration.saga.audit.SagaAuditWriter;
+import com.saga.orchestration.saga.claimcheck.PayloadStore;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+import com.saga.orchestration.saga.codec.StepCodec;
+import com.saga.orchestration.saga.dedup.DeduplicationCache;
+import com.saga.orchestration.saga.execution.StepExecutor;
+import com.saga.orchestration.saga.join.JoinCoordinator;
+import com.saga.orchestration.saga.join.JoinState;
+import com.saga.orchestration.saga.limit.AdaptiveLimiter;
+import com.saga.orchestration.saga.metrics.StepMetrics;
+import com.saga.orchestration.saga.publish.PublishException;
+import com.saga.orchestration.saga.publish.RejectedPublishException;
+import com.saga.orchestration.saga.retry.RetryPolicy;
+import com.saga.orchestration.saga.tracing.SagaTracing;
+import com.saga.orchestration.saga.tracing.StepTrace;
+import com.saga.orchestration.saga.transport.InboundDelivery;
+import com.saga.orchestration.saga.transport.SagaTransport;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.rabbitmq.OutboundMessage;
-import reactor.rabbitmq.Receiver;
-import reactor.rabbitmq.Sender;
 
 @Slf4j
 @Component
-public class SagaEngine implements ApplicationListener<ApplicationReadyEvent> {
+public class SagaEngine implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
 
-    private final Receiver receiver;
-    private final Sender sender;
+    private final SagaTransport transport;
     private final ApplicationContext context;
-    private final SagaExecutionRepository sagaRepository;
-    private final ObjectMapper objectMapper;
+    private final SagaAuditWriter auditWriter;
+    private final SagaCodecs codecs;
+    private final DeduplicationCache deduplication;
+    private final JoinCoordinator joins;
+    private final PayloadStore payloads;
+    private final SagaTracing tracing;
+    private final RabbitProperties rabbitProperties;
+    private final SagaProperties sagaProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StepMetrics> metrics = new ConcurrentHashMap<>();
+    /** Executores dos steps bloqueantes; steps reativos não têm entrada. */
+    private final Map<String, StepExecutor> executors = new ConcurrentHashMap<>();
+    private final Timer sagaDuration;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private volatile StepRegistry registry;
 
-    public SagaEngine(Receiver receiver, Sender sender, ApplicationContext context,
-            SagaExecutionRepository sagaRepository) {
-        this.receiver = receiver;
-        this.sender = sender;
+    public SagaEngine(SagaTransport transport, ApplicationContext context,
+            SagaAuditWriter auditWriter, SagaCodecs codecs, DeduplicationCache deduplication, JoinCoordinator joins,
+            PayloadStore payloads, SagaTracing tracing, RabbitProperties rabbitProperties, SagaProperties sagaProperties,
+            MeterRegistry meterRegistry) {
+        this.transport = transport;
         this.context = context;
-        this.sagaRepository = sagaRepository;
-        this.objectMapper = new ObjectMapper();
+        this.auditWriter = auditWriter;
+        this.codecs = codecs;
+        this.deduplication = deduplication;
+        this.joins = joins;
+        this.payloads = payloads;
+        this.tracing = tracing;
+        this.rabbitProperties = rabbitProperties;
+        this.sagaProperties = sagaProperties;
+        this.meterRegistry = meterRegistry;
+        this.sagaDuration = Timer.builder("saga.duration")
+                .description("Duração fim a fim da saga, do primeiro ao último step")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
-        Map<String, Object> beans = context.getBeansWithAnnotation(Component.class);
-
-        beans.values().forEach(bean -> {
-            Method[] methods = bean.getClass().getDeclaredMethods();
-
-            for (Method method : methods) {
-                Step step = method.getAnnotation(Step.class);
-                if (step != null) {
-                    String inputQueue = step.consume();
-                    String outputQueue = step.produce();
-                    String stepName = method.getName();
-                    Class<?> consumeDTO = step.consumeDTO();
-                    Class<?> produceDTO = step.produceDTO();
-                    
-
-                    receiver.consumeAutoAck(inputQueue).<Map.Entry<String, String>>map(delivery -> {
-                        Map<String, Object> headers = delivery.getProperties().getHeaders();
-                        String correlationId = (headers != null && headers.containsKey("x-correlation-id"))
-                                ? headers.get("x-correlation-id").toString()
-                                : UUID.randomUUID().toString();
-                        return new AbstractMap.SimpleEntry<>(new String(delivery.getBody()), correlationId);
-                    })
-                            .flatMap(entry -> {
-                                String msg = entry.getKey();
-                                String correlationId = entry.getValue();
-                                extractedSagaExecution(inputQueue, outputQueue, stepName, "", msg, "", correlationId, "IN_PROGRESS");
-
-                                try {
-                                    Object payload = (consumeDTO != Void.class) ? objectMapper.readValue(msg, consumeDTO) : msg;
-                                    Object result = method.invoke(bean, payload);
-                                    // Mono<String> response = (result instanceof Mono<?> mono) ? mono.map(Object::toString) : Mono.just(result.toString());
-                                    Mono<String> response = (result instanceof Mono<?> mono)
-                                        ? mono.map(value -> serialize(value, objectMapper, produceDTO))
-                                        : Mono.just(serialize(result, objectMapper, produceDTO));
-                                    return response
-                                            .doOnNext(res -> { 
-                                                extractedSagaExecution(inputQueue, outputQueue, stepName, "", msg, "", correlationId, "DONE"); })
-                                            .flatMap(res -> {
-                                                if (!outputQueue.isEmpty()) {
-
-                                                    AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
-                                                            .headers(Map.of("x-correlation-id", correlationId))
-                                                            .build();
-
-                                                    OutboundMessage outboundMessage = new OutboundMessage(
-                                                            "teste",
-                                                            outputQueue,
-                                                            props,
-                                                            res.getBytes() // body
-                                                    );
-                                                    return sender.send(Flux.just(outboundMessage));
-                                                } else
-                                                    return Mono.empty();
-                                            })
-                                            .then();
-                                } catch (Exception e) {
-                                    extractedSagaExecution(inputQueue, outputQueue, stepName, "fallback", msg, e.toString(), correlationId, "FAILED");
-                                    return handleFallbackOrRollback(bean, methods, stepName, e.toString(), msg, inputQueue, outputQueue, correlationId);
-                                }
-                            })
-                            .subscribe();
-                }
+        StepRegistry registry = StepRegistry.scan(context, codecs);
+        this.registry = registry;
+        registry.all().forEach(definition -> {
+            metrics.put(definition.name(), StepMetrics.register(meterRegistry, definition.name(), definition.inputQueue()));
+            StepExecutor executor = StepExecutor.create(definition, meterRegistry);
+            if (executor != null) {
+                executors.put(definition.name(), executor);
+                subscriptions.add(executor);
             }
         });
+        transport.declareTopology(registry.all())
+                .then(joins.recover(registry.all(), this::onJoinTimeout))
+                .block(Duration.ofSeconds(30));
+        registry.all().forEach(this::consume);
     }
 
-    private String serialize(Object value, ObjectMapper objectMapper, Class<?> targetType) {
-    try {
-        if (targetType != null && targetType != Void.class) {
-            // Serializa para JSON
-            return objectMapper.writeValueAsString(value);
+    private void consume(StepDefinition definition) {
+        Step step = definition.step();
+        Flux<InboundDelivery> deliveries = transport.consume(definition);
+
+        Flux<Void> pipeline;
+        if (step.partitions() > 0) {
+            int partitions = step.partitions();
+            Scheduler rails = Schedulers.newParallel("saga-" + definition.name(), partitions);
+            subscriptions.add(rails);
+            pipeline = deliveries
+                    .groupBy(inbound -> Math.floorMod(SagaHeaders.correlationId(inbound.delivery()).hashCode(), partitions),
+                            Math.max(step.prefetch(), partitions))
+                    .flatMap(rail -> rail.publishOn(rails).concatMap(inbound -> handle(definition, inbound, null)), partitions);
         } else {
-            // Usa toString se não tiver tipo alvo
-            return value.toString();
+            // concurrency é o teto; o limitador adaptativo admite menos quando a latência sobe
+            AdaptiveLimiter limiter = step.adaptiveConcurrency() ? AdaptiveLimiter.register(meterRegistry, definition) : null;
+            pipeline = deliveries.flatMap(inbound -> handle(definition, inbound, limiter), step.concurrency());
         }
-    } catch (JsonProcessingException e) {
-        throw new RuntimeException("Erro ao serializar resposta", e);
+        subscriptions.add(pipeline.subscribe());
     }
-}
 
-    private Mono<Void> handleFallbackOrRollback(Object bean, Method[] allMethods, String failedStep, String error, String msg,
-            String inputQueue, String outputQueue, String correlationId) {
-        for (Method method : allMethods) {
-            Fallback fallback = method.getAnnotation(Fallback.class);
-
-            if (fallback != null && fallback.forStep().equals(failedStep)) {
-                try {
-                    extractedSagaExecution(inputQueue, outputQueue, failedStep, method.toString(), msg, error, correlationId, "IN_PROGRESS-FALLBACK");
-                    return ((Mono<?>) method.invoke(bean, msg)).then();
-                } catch (Exception e) {
-                    extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId,"FAILED-FALLBACK");
+    private Mono<Void> handle(StepDefinition definition, InboundDelivery inbound, AdaptiveLimiter limiter) {
+        Mono<Void> processing = Mono.defer(() -> process(definition, inbound.delivery(), null));
+        if (limiter != null) {
+            processing = limiter.limit(processing);
+        }
+        return processing
+                .doOnSuccess(v -> inbound.ack())
+                .onErrorResume(e -> {
+                    log.error("Erro ao processar mensagem do step {}", definition.name(), e);
+                    // Só a publicação não confirmada (nack, timeout) volta para a fila; recusa definitiva
+                    // e erro de processamento vão para a DLQ
+                    inbound.nack(e instanceof PublishException);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * @param decoded payload já desserializado, quando a entrega vem de um step local fundido
+     */
+    private Mono<Void> process(StepDefinition definition, Delivery delivery, Object decoded) {
+        StepTrace trace = tracing.start(definition, delivery);
+        trace.brokerWait(delivery);
+        return dispatch(definition, delivery, decoded, trace)
+                .doOnError(trace::error)
+                .doFinally(signal -> trace.end());
+    }
+
+    private Mono<Void> dispatch(StepDefinition definition, Delivery delivery, Object decoded, StepTrace trace) {
+        long deadline = SagaHeaders.deadline(delivery);
+        if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+            return expire(definition, delivery, deadline);
+        }
+        return track(definition, delivery, decoded, trace);
+    }
+
+    private Mono<Void> track(StepDefinition definition, Delivery delivery, Object decoded, StepTrace trace) {
+        StepMetrics stepMetrics = metrics.get(definition.name());
+        stepMetrics.inFlight().incrementAndGet();
+        return deduplicate(definition, delivery, decoded, trace)
+                .doFinally(signal -> stepMetrics.inFlight().decrementAndGet());
+    }
+
+    /**
+     * Mensagem com deadline vencido: descartada antes de dedup e desserialização, com status
+     * EXPIRED. Opcionalmente aciona o fallback/rollback do step.
+     */
+    private Mono<Void> expire(StepDefinition definition, Delivery delivery, long deadline) {
+        String correlationId = SagaHeaders.correlationId(delivery);
+        String error = expiredError(deadline);
+        metrics.get(definition.name()).expired().increment();
+        extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "", "", error, correlationId, "EXPIRED");
+        if (!sagaProperties.getDeadline().isCompensateExpired()) {
+            return Mono.empty();
+        }
+        Object reference = SagaHeaders.header(delivery, SagaHeaders.CLAIM_CHECK);
+        Mono<byte[]> body = (reference != null) ? payloads.load(reference.toString()) : Mono.just(delivery.getBody());
+        return body.flatMap(bytes -> handleFallbackOrRollback(definition, error,
+                definition.codec().toText(bytes, delivery.getProperties().getContentType()), correlationId));
+    }
+
+    /**
+     * Deadline da saga vencido durante a invocação: EXPIRED direto, sem retry, porque a próxima
+     * tentativa já chegaria expirada. Um join liberado é encerrado, e os ramos concluídos são
+     * compensados junto com o step quando {@code compensate-expired} está ligado.
+     */
+    private Mono<Void> expireInvocation(StepDefinition definition, String msg, String correlationId, long deadline) {
+        String error = expiredError(deadline);
+        metrics.get(definition.name()).expired().increment();
+        extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "", msg, error, correlationId, "EXPIRED");
+        boolean compensate = sagaProperties.getDeadline().isCompensateExpired();
+        Mono<Void> finishJoin = (definition.join() == null) ? Mono.empty()
+                : joins.finish(definition, correlationId)
+                        .flatMap(state -> compensate ? compensateBranches(state, error) : Mono.empty());
+        if (!compensate) {
+            return finishJoin;
+        }
+        return finishJoin.then(Mono.defer(() -> handleFallbackOrRollback(definition, error, msg, correlationId)));
+    }
+
+    private static String expiredError(long deadline) {
+        return "Deadline da saga expirado em " + Instant.ofEpochMilli(deadline);
+    }
+
+    /**
+     * Redeliveries já processadas com sucesso são descartadas antes de qualquer
+     * desserialização ou auditoria.
+     */
+    private Mono<Void> deduplicate(StepDefinition definition, Delivery delivery, Object decoded, StepTrace trace) {
+        String correlationId = SagaHeaders.correlationId(delivery);
+        String messageId = delivery.getProperties().getMessageId();
+        if (messageId == null || !deduplication.enabled()) {
+            return run(definition, delivery, correlationId, decoded, trace);
+        }
+
+        String key = DeduplicationCache.key(correlationId, definition.name(), messageId, attempt(delivery));
+        return deduplication.isDuplicate(key)
+                .flatMap(duplicate -> {
+                    if (duplicate) {
+                        log.debug("Mensagem {} duplicada para o step {}, ignorando", messageId, definition.name());
+                        return Mono.empty();
+                    }
+                    return run(definition, delivery, correlationId, decoded, trace)
+                            .then(deduplication.markProcessed(key));
+                });
+    }
+
+    /**
+     * Mensagem por referência (claim-check): o corpo só é lido do Mongo depois do dedup. Payload
+     * ausente ou expirado falha a entrega, que vai para a DLQ com o registro FAILED.
+     */
+    private Mono<Void> run(StepDefinition definition, Delivery delivery, String correlationId, Object decoded, StepTrace trace) {
+        Object reference = SagaHeaders.header(delivery, SagaHeaders.CLAIM_CHECK);
+        if (reference == null) {
+            return proceed(definition, delivery, correlationId, decoded, trace);
+        }
+        return payloads.load(reference.toString())
+                .onErrorResume(e -> {
+                    metrics.get(definition.name()).failed().increment();
+                    extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "", reference.toString(), e.toString(), correlationId, "FAILED");
                     return Mono.error(e);
-                }
+                })
+                .flatMap(body -> proceed(definition, new Delivery(delivery.getEnvelope(), delivery.getProperties(), body), correlationId, decoded, trace));
+    }
+
+    private Mono<Void> proceed(StepDefinition definition, Delivery delivery, String correlationId, Object decoded, StepTrace trace) {
+        return (definition.join() != null)
+                ? join(definition, delivery, correlationId, trace)
+                : execute(definition, delivery, correlationId, decoded, trace);
+    }
+
+    /**
+     * Fan-in: cada ramo é registrado no {@link JoinCoordinator}; o step só executa na entrega que
+     * completa o quorum, com os ramos recebidos. Retries do join reaproveitam o estado liberado.
+     */
+    private Mono<Void> join(StepDefinition definition, Delivery delivery, String correlationId, StepTrace trace) {
+        if (attempt(delivery) > 1) {
+            return joins.resume(definition, correlationId)
+                    .flatMap(state -> execute(definition, delivery, correlationId, state, trace));
+        }
+
+        Object branch = SagaHeaders.header(delivery, SagaHeaders.SOURCE_STEP);
+        if (branch == null || !definition.join().accepts(branch.toString())) {
+            log.warn("Mensagem sem ramo conhecido para o join {} (origem {}), ignorando", definition.name(), branch);
+            return Mono.empty();
+        }
+        return joins.arrive(definition, correlationId, branch.toString(), delivery.getBody(), delivery.getProperties().getContentType())
+                .doOnSuccess(state -> {
+                    if (state == null) {
+                        extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "", "", branch.toString(), correlationId, "JOIN-WAITING");
+                    }
+                })
+                .flatMap(state -> execute(definition, delivery, correlationId, state, trace));
+    }
+
+    private Mono<Void> execute(StepDefinition definition, Delivery delivery, String correlationId, Object decoded, StepTrace trace) {
+        String inputQueue = definition.inputQueue();
+        String outputQueue = definition.outputQueue();
+        String stepName = definition.name();
+        StepCodec codec = definition.codec();
+        StepMetrics stepMetrics = metrics.get(stepName);
+        long sagaStartedAt = SagaHeaders.sagaStartedAt(delivery, System.currentTimeMillis());
+        long deadline = deadline(definition, delivery, sagaStartedAt);
+
+        byte[] body = delivery.getBody();
+        String contentType = delivery.getProperties().getContentType();
+        String msg = codec.toText(body, contentType);
+        long enqueueStart = System.nanoTime();
+        extractedSagaExecution(inputQueue, outputQueue, stepName, "", msg, "", correlationId, "IN_PROGRESS");
+        trace.phase("enqueue", enqueueStart, System.nanoTime());
+
+        // Erros do step (síncronos ou do Mono retornado) vão para retry/compensação;
+        // erros de publicação da saída seguem adiante e devolvem a entrada para a fila.
+        Mono<StepOutput> invocation = invokeStep(definition, stepMetrics, body, contentType, decoded, trace);
+        Duration timeout = timeout(definition, deadline);
+        if (timeout != null) {
+            invocation = invocation.timeout(timeout);
+        }
+        return invocation
+                .onErrorResume(e -> {
+                    trace.error(e);
+                    if (e instanceof TimeoutException && deadline > 0 && System.currentTimeMillis() >= deadline) {
+                        return expireInvocation(definition, msg, correlationId, deadline).then(Mono.empty());
+                    }
+                    return onStepFailure(definition, delivery, msg, correlationId, sagaStartedAt, deadline, e, trace).then(Mono.empty());
+                })
+                .flatMap(output -> {
+                    long doneStart = System.nanoTime();
+                    extractedSagaExecution(inputQueue, outputQueue, stepName, "", msg, "", correlationId, "DONE");
+                    trace.phase("enqueue", doneStart, System.nanoTime());
+                    stepMetrics.done().increment();
+
+                    Mono<Void> forward;
+                    if (definition.outputQueues().isEmpty()) {
+                        // Step terminal: duração fim a fim da saga
+                        sagaDuration.record(System.currentTimeMillis() - sagaStartedAt, TimeUnit.MILLISECONDS);
+                        forward = Mono.empty();
+                    } else {
+                        Map<String, Object> headers = SagaHeaders.propagate(correlationId, sagaStartedAt, deadline);
+                        headers.put(SagaHeaders.SOURCE_STEP, stepName);
+                        trace.inject(headers);
+                        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                                .contentType(codec.outputContentType())
+                                .messageId(outputMessageId(delivery, stepName))
+                                .headers(headers)
+                                .build();
+
+                        // No claim-check o corpo é gravado uma vez e todas as filas recebem só a referência
+                        forward = (payloads.claimsBroker(output.body()) && publishesToBroker(definition))
+                                ? payloads.store(output.body(), codec.outputContentType())
+                                        .flatMap(reference -> fanOut(definition, stepMetrics, output, props, reference, trace))
+                                : fanOut(definition, stepMetrics, output, props, null, trace);
+                    }
+                    // O join só é encerrado depois que a saída foi entregue
+                    return (definition.join() != null) ? forward.then(Mono.defer(() -> joins.finish(definition, correlationId).then())) : forward;
+                })
+                .then();
+    }
+
+    /** Alguma saída do step passa pelo broker (não é entregue por fusão a um step local). */
+    private boolean publishesToBroker(StepDefinition definition) {
+        return !sagaProperties.getTransport().isFusion()
+                || definition.outputQueues().stream().anyMatch(queue -> registry.consumerOf(queue) == null);
+    }
+
+    private static AMQP.BasicProperties claimed(AMQP.BasicProperties props, String reference) {
+        Map<String, Object> headers = new HashMap<>(props.getHeaders());
+        headers.put(SagaHeaders.CLAIM_CHECK, reference);
+        return props.builder().headers(headers).build();
+    }
+
+    /** Deadline recebido ou, no início da saga, calculado pelo SLA do step ou o padrão. */
+    private long deadline(StepDefinition definition, Delivery delivery, long sagaStartedAt) {
+        long deadline = SagaHeaders.deadline(delivery);
+        if (deadline > 0) {
+            return deadline;
+        }
+        long sla = (definition.step().slaMillis() > 0)
+                ? definition.step().slaMillis()
+                : sagaProperties.getDeadline().getDefaultSla().toMillis();
+        return (sla > 0) ? sagaStartedAt + sla : 0;
+    }
+
+    /** Menor entre o timeout do step e o tempo que resta até o deadline, ou {@code null} sem limite. */
+    private static Duration timeout(StepDefinition definition, long deadline) {
+        long timeout = definition.step().timeoutMillis();
+        if (deadline > 0) {
+            long remaining = Math.max(deadline - System.currentTimeMillis(), 1);
+            timeout = (timeout > 0) ? Math.min(timeout, remaining) : remaining;
+        }
+        return (timeout > 0) ? Duration.ofMillis(timeout) : null;
+    }
+
+    /** Fan-out: a mesma saída segue para todas as filas de produce. */
+    private Mono<Void> fanOut(StepDefinition definition, StepMetrics stepMetrics, StepOutput output,
+            AMQP.BasicProperties props, String reference, StepTrace trace) {
+        return Flux.fromIterable(definition.outputQueues())
+                .flatMap(queue -> forward(definition, stepMetrics, queue, output, props, reference, trace))
+                .then();
+    }
+
+    /**
+     * @param reference referência do corpo no claim-check, ou {@code null} para publicar o corpo
+     */
+    private Mono<Void> forward(StepDefinition definition, StepMetrics stepMetrics, String queue, StepOutput output,
+            AMQP.BasicProperties props, String reference, StepTrace trace) {
+        StepDefinition next = sagaProperties.getTransport().isFusion() ? registry.consumerOf(queue) : null;
+        if (next != null) {
+            return handOff(definition, next, output, props);
+        }
+
+        OutboundMessage outboundMessage = (reference == null)
+                ? new OutboundMessage(rabbitProperties.getExchange(), queue, props, output.body())
+                : new OutboundMessage(rabbitProperties.getExchange(), queue, claimed(props, reference), new byte[0]);
+        long publishStart = System.nanoTime();
+        return transport.publish(outboundMessage)
+                .onErrorMap(e -> e instanceof PublishException publish && publish.isNack() && bounded(queue),
+                        e -> new RejectedPublishException("Fila " + queue + " cheia (reject-publish)", e))
+                .doOnSuccess(v -> {
+                    long publishEnd = System.nanoTime();
+                    stepMetrics.publish().record(publishEnd - publishStart, TimeUnit.NANOSECONDS);
+                    trace.phase("publish", publishStart, publishEnd);
+                });
+    }
+
+    /** Fila local com maxLength: nela um nack no confirm é a recusa do reject-publish. */
+    private boolean bounded(String queue) {
+        StepDefinition consumer = registry.consumerOf(queue);
+        return consumer != null && consumer.step().queue().maxLength() > 0;
+    }
+
+    private Mono<StepOutput> invokeStep(StepDefinition definition, StepMetrics stepMetrics, byte[] body, String contentType,
+            Object decoded, StepTrace trace) {
+        StepCodec codec = definition.codec();
+        try {
+            long start = System.nanoTime();
+            Object payload;
+            if (decoded instanceof JoinState state) {
+                payload = joinPayload(definition, state);
+            } else {
+                payload = (decoded != null) ? decoded : codec.decode(body, contentType);
+            }
+            long invokeStart = System.nanoTime();
+            stepMetrics.deserialize().record(invokeStart - start, TimeUnit.NANOSECONDS);
+            trace.phase("deserialize", start, invokeStart);
+
+            StepExecutor executor = executors.get(definition.name());
+            Mono<StepOutput> response = (executor == null)
+                ? output(codec, definition.invoker().invoke(payload))
+                : executor.submit(() -> definition.invoker().invoke(payload)).flatMap(result -> output(codec, result));
+            return response.doFinally(signal -> {
+                long invokeEnd = System.nanoTime();
+                stepMetrics.invoke().record(invokeEnd - invokeStart, TimeUnit.NANOSECONDS);
+                trace.phase("invoke", invokeStart, invokeEnd);
+            });
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static Mono<StepOutput> output(StepCodec codec, Object result) {
+        return (result instanceof Mono<?> mono)
+            ? mono.map(value -> new StepOutput(value, codec.encode(value)))
+            : Mono.just(new StepOutput(result, codec.encode(result)));
+    }
+
+    /** Entrada do método de join: nome do ramo → saída do ramo desserializada no consumeDTO. */
+    private static Map<String, Object> joinPayload(StepDefinition definition, JoinState state) throws IOException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (var branch : state.branches().entrySet()) {
+            payload.put(branch.getKey(), definition.codec().decode(branch.getValue().getBody(), branch.getValue().getContentType()));
+        }
+        return payload;
+    }
+
+    /**
+     * Fusão de steps: a saída vai direto para o step local que consome a fila, sem passar pelo
+     * broker. O próximo step roda dentro do mesmo pipeline (auditoria, dedup, retry e compensação
+     * inclusos) e a entrega original só recebe ack quando a cadeia fundida termina. O objeto é
+     * repassado sem nova desserialização quando o tipo é compatível com o consumeDTO do próximo step.
+     */
+    private Mono<Void> handOff(StepDefinition current, StepDefinition next, StepOutput output, AMQP.BasicProperties props) {
+        Object decoded = null;
+        if (next.consumeDTO() == Void.class) {
+            decoded = (current.produceDTO() == Void.class) ? output.value().toString() : null;
+        } else if (next.consumeDTO().isInstance(output.value())) {
+            decoded = output.value();
+        }
+        Delivery fused = new Delivery(new Envelope(0, false, rabbitProperties.getExchange(), next.inputQueue()), props, output.body());
+        return process(next, fused, decoded);
+    }
+
+    /**
+     * Enquanto houver tentativas, republica a mensagem original na fila de espera da tentativa;
+     * esgotadas, registra FAILED e aciona fallback/rollback.
+     */
+    private Mono<Void> onStepFailure(StepDefinition definition, Delivery delivery, String msg, String correlationId,
+            long sagaStartedAt, long deadline, Throwable error, StepTrace trace) {
+        RetryPolicy retry = definition.retry();
+        StepMetrics stepMetrics = metrics.get(definition.name());
+        int attempt = attempt(delivery);
+
+        if (retry.canRetry(attempt)) {
+            extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "", msg, error.toString(), correlationId, "RETRYING");
+            stepMetrics.retry().increment();
+
+            Map<String, Object> headers = SagaHeaders.propagate(correlationId, sagaStartedAt, deadline);
+            headers.put(RetryPolicy.ATTEMPT_HEADER, attempt + 1);
+            trace.inject(headers);
+            AMQP.BasicProperties props = delivery.getProperties().builder()
+                    .headers(headers)
+                    .expiration(Long.toString(retry.nextDelay(attempt)))
+                    .build();
+            return transport.publish(new OutboundMessage("", retry.delayQueue(attempt), props, delivery.getBody()));
+        }
+
+        extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "fallback", msg, error.toString(), correlationId, "FAILED");
+        stepMetrics.failed().increment();
+        if (definition.join() != null) {
+            return joins.finish(definition, correlationId)
+                    .flatMap(state -> compensateBranches(state, error.toString()))
+                    .then(Mono.defer(() -> handleFallbackOrRollback(definition, error.toString(), msg, correlationId)));
+        }
+        return handleFallbackOrRollback(definition, error.toString(), msg, correlationId);
+    }
+
+    /** Prazo do join esgotado sem quorum: falha o join e compensa os ramos que concluíram. */
+    private Mono<Void> onJoinTimeout(JoinState state) {
+        StepDefinition definition = registry.get(state.stepName());
+        if (definition == null) {
+            // join de um step que não existe mais nesta versão: fica só encerrado, sem compensação
+            log.warn("Join {} da saga {} expirado sem step registrado, ramos recebidos: {}",
+                    state.stepName(), state.correlationId(), state.branches().keySet());
+            return Mono.empty();
+        }
+        String error = "Join expirado sem os ramos " + JoinCoordinator.missing(definition, state);
+        String received = state.branches().keySet().toString();
+        extractedSagaExecution(definition.inputQueue(), definition.outputQueue(), definition.name(), "fallback", received, error, state.correlationId(), "FAILED");
+        metrics.get(definition.name()).failed().increment();
+        return compensateBranches(state, error)
+                .then(Mono.defer(() -> handleFallbackOrRollback(definition, error, received, state.correlationId())));
+    }
+
+    /**
+     * Executa o {@code @Rollback} de cada ramo concluído do join. Ramos sem rollback local
+     * (ou de outro serviço) não são compensados aqui; a falha de um rollback não impede os demais.
+     */
+    private Mono<Void> compensateBranches(JoinState state, String error) {
+        return Flux.fromIterable(state.branches().entrySet())
+                .concatMap(entry -> {
+                    StepDefinition branch = registry.get(entry.getKey());
+                    Compensation rollback = (branch != null) ? branch.rollback() : null;
+                    if (rollback == null) {
+                        log.warn("Ramo {} do join {} sem rollback local", entry.getKey(), state.stepName());
+                        return Mono.empty();
+                    }
+                    String msg = branch.codec().toText(entry.getValue().getBody(), entry.getValue().getContentType());
+                    metrics.get(branch.name()).rollback().increment();
+                    extractedSagaExecution(branch.inputQueue(), branch.outputQueue(), branch.name(), branch.name(), msg, error, state.correlationId(), "IN_PROGRESS-rollback");
+                    return Mono.defer(() -> {
+                                try {
+                                    return ((Mono<?>) rollback.invoker().invoke(msg)).then();
+                                } catch (Throwable e) {
+                                    return Mono.error(e);
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                log.error("Erro no rollback do ramo {} do join {}", branch.name(), state.stepName(), e);
+                                extractedSagaExecution(branch.inputQueue(), branch.outputQueue(), branch.name(), branch.name(), msg, e.toString(), state.correlationId(), "FAILED-rollback");
+                                return Mono.empty();
+                            });
+                })
+                .then();
+    }
+
+    private static int attempt(Delivery delivery) {
+        Object value = SagaHeaders.header(delivery, RetryPolicy.ATTEMPT_HEADER);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return (value != null) ? Integer.parseInt(value.toString()) : 1;
+    }
+
+    /**
+     * Id determinístico quando a entrada tem messageId: reprocessar a mesma entrada gera a
+     * mesma saída, que o step seguinte reconhece como duplicada.
+     */
+    private static String outputMessageId(Delivery delivery, String stepName) {
+        String messageId = delivery.getProperties().getMessageId();
+        return (messageId == null)
+                ? UUID.randomUUID().toString()
+                : UUID.nameUUIDFromBytes((messageId + '|' + stepName).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private Mono<Void> handleFallbackOrRollback(StepDefinition definition, String error, String msg, String correlationId) {
+        String inputQueue = definition.inputQueue();
+        String outputQueue = definition.outputQueue();
+        String failedStep = definition.name();
+
+        StepMetrics stepMetrics = metrics.get(failedStep);
+
+        Compensation fallback = definition.fallback();
+        if (fallback != null) {
+            stepMetrics.fallback().increment();
+            try {
+                extractedSagaExecution(inputQueue, outputQueue, failedStep, fallback.methodName(), msg, error, correlationId, "IN_PROGRESS-FALLBACK");
+                return ((Mono<?>) fallback.invoker().invoke(msg)).then();
+            } catch (Throwable e) {
+                extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId,"FAILED-FALLBACK");
+                return Mono.error(e);
             }
         }
 
         // rollback
-        for (Method method : allMethods) {
-            Rollback rollback = method.getAnnotation(Rollback.class);
-
-            if (rollback != null && rollback.forStep().equals(failedStep)) {
-                try {
-                    extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId, "IN_PROGRESS-rollback");
-                    return ((Mono<?>) method.invoke(bean, msg)).then();
-                } catch (Exception e) {
-                    extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId,"FAILED-rollback");
-                    return Mono.error(e);
-                }
+        Compensation rollback = definition.rollback();
+        if (rollback != null) {
+            stepMetrics.rollback().increment();
+            try {
+                extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId, "IN_PROGRESS-rollback");
+                return ((Mono<?>) rollback.invoker().invoke(msg)).then();
+            } catch (Throwable e) {
+                extractedSagaExecution(inputQueue, outputQueue, failedStep, failedStep, msg, error, correlationId,"FAILED-rollback");
+                return Mono.error(e);
             }
         }
 
@@ -169,15 +637,15 @@ public class SagaEngine implements ApplicationListener<ApplicationReadyEvent> {
         sagaExecution.setStepName(stepName);
         sagaExecution.setInputQueue(inputQueue);
         sagaExecution.setOutputQueue(outputQueue);
-        sagaExecution.setPayload(payload);
+        sagaExecution.setPayload(payloads.auditPayload(payload));
         sagaExecution.setStatus(status);
         sagaExecution.setFallback(fallback);
         sagaExecution.setCreatedAt(Instant.now());
         sagaExecution.setMessage(message);
-        sagaRepository.save(sagaExecution)
-                .doOnSuccess(saved -> log.info("Saga salva com id: {}", saved.getId()))
-                .doOnError(e -> log.error("Erro ao salvar saga", e))
-                .subscribe();
+        metrics.get(stepName).enqueue().record(() -> auditWriter.record(sagaExecution));
         return Mono.empty();
     }
-}
\ No newline at end of file
+
+    /** Resultado do step: o objeto retornado e sua forma serializada. */
+    private record StepOutput(Object value, byte[] body) {}
+}
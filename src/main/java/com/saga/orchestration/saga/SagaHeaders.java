@@ -0,0 +1,80 @@
+package com.saga.orchestration.saga;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.rabbitmq.client.Delivery;
+
+/**
+ * Headers AMQP que o engine lê e propaga entre os steps de uma saga.
+ */
+public final class SagaHeaders {
+
+    public static final String CORRELATION_ID = "x-correlation-id";
+    /** Instante (epoch millis) em que o primeiro step da saga recebeu a mensagem. */
+    public static final String SAGA_STARTED_AT = "x-saga-started-at";
+    /** Prazo (epoch millis) para a saga terminar; mensagens vencidas são descartadas sem processar. */
+    public static final String DEADLINE = "x-deadline";
+    /** Referência do corpo no claim-check quando a mensagem é publicada sem payload. */
+    public static final String CLAIM_CHECK = "x-claim-check";
+    /** Step que produziu a mensagem; identifica o ramo na entrada de um join. */
+    public static final String SOURCE_STEP = "x-saga-source-step";
+    /** Instante (epoch millis) da publicação; o span broker-wait vai dele até a entrega. */
+    public static final String PUBLISHED_AT = "x-published-at";
+
+    private SagaHeaders() {
+    }
+
+    /**
+     * Correlation id da saga. Sem o header (primeira entrada vinda de um produtor externo), é
+     * derivado do messageId para que redeliveries da mesma mensagem tenham o mesmo id (e a mesma
+     * chave de dedup); sem messageId, é aleatório.
+     */
+    public static String correlationId(Delivery delivery) {
+        Object value = header(delivery, CORRELATION_ID);
+        if (value != null) {
+            return value.toString();
+        }
+        String messageId = delivery.getProperties().getMessageId();
+        return (messageId != null)
+                ? UUID.nameUUIDFromBytes(messageId.getBytes(StandardCharsets.UTF_8)).toString()
+                : UUID.randomUUID().toString();
+    }
+
+    /** Início da saga; na primeira entrada (sem header) é o próprio instante de recebimento. */
+    public static long sagaStartedAt(Delivery delivery, long now) {
+        Object value = header(delivery, SAGA_STARTED_AT);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return (value != null) ? Long.parseLong(value.toString()) : now;
+    }
+
+    /** Prazo da saga, ou 0 quando a mensagem não tem prazo. */
+    public static long deadline(Delivery delivery) {
+        Object value = header(delivery, DEADLINE);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return (value != null) ? Long.parseLong(value.toString()) : 0;
+    }
+
+    public static Object header(Delivery delivery, String name) {
+        Map<String, Object> headers = delivery.getProperties().getHeaders();
+        return (headers != null) ? headers.get(name) : null;
+    }
+
+    /** Headers que acompanham a saga para o próximo step. */
+    public static Map<String, Object> propagate(String correlationId, long sagaStartedAt, long deadline) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(CORRELATION_ID, correlationId);
+        headers.put(SAGA_STARTED_AT, sagaStartedAt);
+        headers.put(PUBLISHED_AT, System.currentTimeMillis());
+        if (deadline > 0) {
+            headers.put(DEADLINE, deadline);
+        }
+        return headers;
+    }
+}
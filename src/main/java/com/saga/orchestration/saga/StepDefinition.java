@@ -0,0 +1,50 @@
+package com.saga.orchestration.saga;
+
+import java.util.List;
+
+import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.saga.codec.StepCodec;
+import com.saga.orchestration.saga.join.JoinPolicy;
+import com.saga.orchestration.saga.retry.RetryPolicy;
+
+/**
+ * Metadados imutáveis de um {@code @Step}, resolvidos uma vez na inicialização.
+ */
+public record StepDefinition(
+    String name,
+    Object bean,
+    Step step,
+    StepInvoker invoker,
+    StepCodec codec,
+    RetryPolicy retry,
+    JoinPolicy join,
+    Compensation fallback,
+    Compensation rollback
+) {
+
+    public String inputQueue() {
+        return step.consume();
+    }
+
+    public List<String> outputQueues() {
+        return List.of(step.produce());
+    }
+
+    /** Filas de saída separadas por vírgula, para auditoria ({@code ""} em step terminal). */
+    public String outputQueue() {
+        return String.join(",", step.produce());
+    }
+
+    public Class<?> consumeDTO() {
+        return step.consumeDTO();
+    }
+
+    public Class<?> produceDTO() {
+        return step.produceDTO();
+    }
+
+    /**
+     * Handler de compensação ({@code @Fallback} ou {@code @Rollback}) já compilado.
+     */
+    public record Compensation(String methodName, StepInvoker invoker) {}
+}
@@ -0,0 +1,32 @@
+package com.saga.orchestration.saga;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Invoker pré-compilado de um método de saga ({@code @Step}, {@code @Fallback} ou {@code @Rollback}).
+ * O {@link MethodHandle} é resolvido e ligado ao bean uma única vez na inicialização, evitando
+ * {@code Method.invoke} e o wrapping em {@code InvocationTargetException} por mensagem.
+ */
+@FunctionalInterface
+public interface StepInvoker {
+
+    MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    Object invoke(Object payload) throws Throwable;
+
+    static StepInvoker of(Object bean, Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup()
+                    .unreflect(method)
+                    .bindTo(bean)
+                    .asType(GENERIC_TYPE);
+            return payload -> (Object) handle.invokeExact(payload);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível criar invoker para " + method, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.saga.orchestration.saga;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.annotations.Fallback;
+import com.saga.orchestration.annotations.Join;
+import com.saga.orchestration.annotations.Rollback;
+import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.saga.StepDefinition.Compensation;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+import com.saga.orchestration.saga.join.JoinPolicy;
+import com.saga.orchestration.saga.retry.RetryPolicy;
+
+/**
+ * Registro imutável dos steps da saga, indexado pelo nome do step (o nome do método), na ordem
+ * em que foram encontrados. Nomes repetidos falham a inicialização. Fallbacks e rollbacks são associados ao step na construção, tornando o
+ * caminho de falha uma leitura O(1) em vez de varrer os métodos do bean.
+ */
+public final class StepRegistry {
+
+    private final Map<String, StepDefinition> steps;
+    private final Map<String, StepDefinition> consumers = new HashMap<>();
+
+    private StepRegistry(Map<String, StepDefinition> steps) {
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(steps));
+        steps.values().forEach(definition -> consumers.putIfAbsent(definition.inputQueue(), definition));
+    }
+
+    public static StepRegistry scan(ApplicationContext context, SagaCodecs codecs) {
+        Map<String, StepDefinition> steps = new LinkedHashMap<>();
+
+        for (Object bean : context.getBeansWithAnnotation(Component.class).values()) {
+            Method[] methods = AopUtils.getTargetClass(bean).getDeclaredMethods();
+            Map<String, Compensation> fallbacks = new HashMap<>();
+            Map<String, Compensation> rollbacks = new HashMap<>();
+
+            for (Method method : methods) {
+                Fallback fallback = method.getAnnotation(Fallback.class);
+                if (fallback != null) {
+                    fallbacks.putIfAbsent(fallback.forStep(), new Compensation(method.toString(), StepInvoker.of(bean, method)));
+                }
+                Rollback rollback = method.getAnnotation(Rollback.class);
+                if (rollback != null) {
+                    rollbacks.putIfAbsent(rollback.forStep(), new Compensation(method.toString(), StepInvoker.of(bean, method)));
+                }
+            }
+
+            for (Method method : methods) {
+                Step step = method.getAnnotation(Step.class);
+                if (step != null) {
+                    String stepName = method.getName();
+                    StepDefinition existing = steps.get(stepName);
+                    if (existing != null) {
+                        throw new IllegalStateException("Step " + stepName + " declarado em "
+                                + AopUtils.getTargetClass(existing.bean()).getName() + " e em " + AopUtils.getTargetClass(bean).getName());
+                    }
+                    Join join = method.getAnnotation(Join.class);
+                    steps.put(stepName, new StepDefinition(
+                            stepName,
+                            bean,
+                            step,
+                            StepInvoker.of(bean, method),
+                            codecs.forStep(step.consumeDTO(), step.produceDTO()),
+                            RetryPolicy.of(step),
+                            (join != null) ? JoinPolicy.of(join) : null,
+                            fallbacks.get(stepName),
+                            rollbacks.get(stepName)));
+                }
+            }
+        }
+        return new StepRegistry(steps);
+    }
+
+    public StepDefinition get(String stepName) {
+        return steps.get(stepName);
+    }
+
+    /** Step local que consome a fila, ou {@code null} se ela é consumida fora deste serviço. */
+    public StepDefinition consumerOf(String queue) {
+        return consumers.get(queue);
+    }
+
+    public Collection<StepDefinition> all() {
+        return steps.values();
+    }
+}
@@ -0,0 +1,8 @@
+package com.saga.orchestration.saga.audit;
+
+public enum AuditMode {
+    /** Um documento em {@code sagas} por transição de status. */
+    EVENT,
+    /** Um documento em {@code saga_instances} por correlationId, com $push do histórico de steps. */
+    INSTANCE
+}
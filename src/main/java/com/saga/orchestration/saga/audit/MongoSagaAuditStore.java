@@ -0,0 +1,74 @@
+package com.saga.orchestration.saga.audit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.model.SagaInstance;
+import com.saga.orchestration.model.SagaStepRecord;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Grava os lotes em bulk não ordenado. Conforme {@link AuditMode}, cada evento vira um
+ * documento em {@code sagas} ou um $push no documento da saga em {@code saga_instances}.
+ */
+@Component
+public class MongoSagaAuditStore implements SagaAuditStore {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SagaProperties.Audit properties;
+
+    public MongoSagaAuditStore(ReactiveMongoTemplate mongoTemplate, SagaProperties sagaProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = sagaProperties.getAudit();
+    }
+
+    @Override
+    public Mono<Void> write(List<SagaExecution> batch) {
+        return (properties.getMode() == AuditMode.INSTANCE) ? upsertInstances(batch) : insertEvents(batch);
+    }
+
+    private Mono<Void> insertEvents(List<SagaExecution> batch) {
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, SagaExecution.class)
+                .insert(batch)
+                .execute()
+                .then();
+    }
+
+    /**
+     * Agrupa os eventos do lote por correlationId para emitir um único upsert por saga:
+     * a ordem dos steps fica garantida no $push mesmo com bulk não ordenado.
+     */
+    private Mono<Void> upsertInstances(List<SagaExecution> batch) {
+        Map<String, List<SagaExecution>> bySaga = new LinkedHashMap<>();
+        for (SagaExecution execution : batch) {
+            bySaga.computeIfAbsent(execution.getCorrelationId(), id -> new ArrayList<>()).add(execution);
+        }
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, SagaInstance.class);
+        bySaga.forEach((correlationId, executions) -> {
+            SagaExecution first = executions.get(0);
+            SagaExecution last = executions.get(executions.size() - 1);
+            Update update = new Update()
+                    .push("steps").each(executions.stream().map(SagaStepRecord::from).toArray())
+                    .set("currentStep", last.getStepName())
+                    .set("status", last.getStatus())
+                    .set("updatedAt", last.getCreatedAt())
+                    .setOnInsert("createdAt", first.getCreatedAt());
+            bulk.upsert(Query.query(Criteria.where("_id").is(correlationId)), update);
+        });
+        return bulk.execute().then();
+    }
+}
@@ -0,0 +1,13 @@
+package com.saga.orchestration.saga.audit;
+
+public enum OverflowPolicy {
+    /** Descarta o evento quando a fila está cheia. */
+    DROP,
+    /**
+     * Bloqueia quem registra o evento até haver espaço ou estourar o blockTimeout. No engine quem
+     * registra é a thread do Reactor que processa o step, e ela fica parada durante a espera sem
+     * atender outras mensagens; use só quando perder eventos for pior que perder vazão, como nos
+     * benchmarks que medem a conclusão pela auditoria.
+     */
+    BLOCK
+}
@@ -0,0 +1,15 @@
+package com.saga.orchestration.saga.audit;
+
+import java.util.List;
+
+import com.saga.orchestration.model.SagaExecution;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Destino dos lotes de auditoria montados pelo {@link SagaAuditWriter}.
+ */
+public interface SagaAuditStore {
+
+    Mono<Void> write(List<SagaExecution> batch);
+}
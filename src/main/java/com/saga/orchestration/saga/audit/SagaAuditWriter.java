@@ -0,0 +1,158 @@
+package com.saga.orchestration.saga.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.SagaExecution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Pipeline de auditoria da saga: o engine registra eventos numa fila limitada e um único
+ * loop os entrega em lotes ao {@link SagaAuditStore}, por tamanho de lote ou por tempo. No
+ * shutdown o loop para de agendar flushes, termina o lote em gravação e esvazia a fila.
+ */
+@Slf4j
+@Component
+public class SagaAuditWriter implements DisposableBean {
+
+    private final SagaAuditStore store;
+    private final SagaProperties.Audit properties;
+    private final BlockingQueue<SagaExecution> queue;
+    private final Sinks.Many<Boolean> wakeups = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<SagaExecution> transitions = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    /** Duração de cada lote no {@link SagaAuditStore}, do envio até a confirmação ou o erro. */
+    private final Timer writes;
+    private final Sinks.One<Boolean> stop = Sinks.one();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final Disposable loop;
+
+    public SagaAuditWriter(SagaAuditStore store, SagaProperties sagaProperties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = sagaProperties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        meterRegistry.gauge("saga.audit.queue.depth", queue, BlockingQueue::size);
+        meterRegistry.more().counter("saga.audit.dropped", List.of(), dropped);
+        meterRegistry.more().counter("saga.audit.written", List.of(), written);
+        meterRegistry.more().counter("saga.audit.failed", List.of(), failed);
+        this.writes = Timer.builder("saga.audit.write")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.loop = Flux.merge(Flux.interval(properties.getFlushInterval()).map(tick -> Boolean.TRUE), wakeups.asFlux())
+                .takeUntilOther(stop.asMono())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .then(Mono.defer(this::flushAll))
+                .doFinally(signal -> stopped.countDown())
+                .subscribe();
+    }
+
+    public void record(SagaExecution execution) {
+        boolean accepted = switch (properties.getOverflowPolicy()) {
+            case DROP -> queue.offer(execution);
+            case BLOCK -> offerBlocking(execution);
+        };
+        if (!accepted) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (queue.size() >= properties.getBatchSize()) {
+            wakeups.tryEmitNext(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Transições já persistidas, em tempo real. Assinantes lentos perdem eventos em vez de
+     * segurar o loop de gravação.
+     */
+    public Flux<SagaExecution> transitions() {
+        return transitions.asFlux();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private boolean offerBlocking(SagaExecution execution) {
+        try {
+            return queue.offer(execution, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Mono<Void> drain() {
+        return Mono.defer(this::flushBatch)
+                .repeat(() -> queue.size() >= properties.getBatchSize())
+                .then();
+    }
+
+    private Mono<Void> flushAll() {
+        return Mono.defer(this::flushBatch)
+                .repeat(() -> !queue.isEmpty())
+                .then();
+    }
+
+    private Mono<Integer> flushBatch() {
+        List<SagaExecution> batch = new ArrayList<>(properties.getBatchSize());
+        queue.drainTo(batch, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return Mono.just(0);
+        }
+        Timer.Sample sample = Timer.start();
+        return store.write(batch)
+                .doFinally(signal -> sample.stop(writes))
+                .thenReturn(batch.size())
+                .doOnNext(count -> {
+                    written.addAndGet(count);
+                    batch.forEach(transitions::tryEmitNext);
+                    log.debug("Lote de auditoria gravado: {} eventos", count);
+                })
+                .onErrorResume(e -> {
+                    failed.addAndGet(batch.size());
+                    log.error("Erro ao gravar lote de {} sagas", batch.size(), e);
+                    return Mono.just(0);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        // concatMap conclui o lote em andamento antes de propagar o fim dos ticks para o flush final
+        stop.tryEmitValue(Boolean.TRUE);
+        try {
+            if (!stopped.await(properties.getShutdownTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Auditoria de sagas não terminou em {}: {} eventos na fila", properties.getShutdownTimeout(), queue.size());
+                loop.dispose();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            loop.dispose();
+        }
+        log.info("Auditoria de sagas finalizada: {} gravadas, {} descartadas", written.get(), dropped.get());
+    }
+}
@@ -0,0 +1,45 @@
+package com.saga.orchestration.saga.claimcheck;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.model.PayloadBlob;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Blobs em {@code saga_payloads}, expirados pelo índice TTL em {@code createdAt}.
+ */
+@Component
+public class MongoPayloadBlobStore implements PayloadBlobStore {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public MongoPayloadBlobStore(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<PayloadBlob> findById(String reference) {
+        return mongoTemplate.findById(reference, PayloadBlob.class);
+    }
+
+    @Override
+    public Mono<Boolean> upsert(PayloadBlob blob) {
+        Update update = new Update()
+                .setOnInsert("contentType", blob.getContentType())
+                .setOnInsert("size", blob.getSize())
+                .setOnInsert("compressed", blob.isCompressed())
+                .setOnInsert("data", blob.getData())
+                // conteúdo regravado renova o TTL: o blob vive a partir da última referência publicada
+                .set("createdAt", blob.getCreatedAt());
+        return mongoTemplate.upsert(Query.query(Criteria.where("_id").is(blob.getReference())), update, PayloadBlob.class)
+                .map(result -> result.getUpsertedId() != null)
+                // Dois upserts simultâneos do mesmo conteúdo: o perdedor encontra o documento pronto
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+    }
+}
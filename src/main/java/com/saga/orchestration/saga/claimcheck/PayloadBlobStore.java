@@ -0,0 +1,19 @@
+package com.saga.orchestration.saga.claimcheck;
+
+import com.saga.orchestration.model.PayloadBlob;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Onde o {@link PayloadStore} guarda os blobs, já comprimidos e com a referência como chave.
+ */
+public interface PayloadBlobStore {
+
+    Mono<PayloadBlob> findById(String reference);
+
+    /**
+     * Grava o blob se a referência ainda não existe; se existe, só renova {@code createdAt}.
+     * Completa com {@code true} quando o blob foi inserido por esta chamada.
+     */
+    Mono<Boolean> upsert(PayloadBlob blob);
+}
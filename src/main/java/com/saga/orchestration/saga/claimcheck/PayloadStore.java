@@ -0,0 +1,221 @@
+package com.saga.orchestration.saga.claimcheck;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.PayloadBlob;
+import com.saga.orchestration.saga.codec.StepCodec;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Claim-check: payloads a partir de {@code saga.claim-check.threshold} bytes são comprimidos e
+ * gravados uma única vez no {@link PayloadBlobStore}, com o SHA-256 do conteúdo como chave. A
+ * auditoria (e, opcionalmente, a mensagem no broker) carrega só a referência {@code sha256:<hex>}.
+ */
+@Slf4j
+@Component
+public class PayloadStore {
+
+    public static final String REFERENCE_PREFIX = "sha256:";
+
+    private final SagaProperties.ClaimCheck properties;
+    private final PayloadBlobStore blobs;
+    /**
+     * Referências gravadas (ou renovadas) por esta instância: evita reenviar o mesmo conteúdo ao
+     * store. Expira na metade do TTL dos blobs, então uma referência devolvida pelo cache aponta
+     * para um blob que ainda vive pelo menos meio TTL.
+     */
+    private final Cache<String, Boolean> stored;
+    /** Referência do texto de auditoria por identidade: os status de uma entrega reusam a mesma String. */
+    private final Cache<String, String> auditReferences;
+    /** Limita as gravações em segundo plano disparadas pela auditoria. */
+    private final Semaphore pendingWrites;
+    private final Counter writes;
+    private final Counter deduplicated;
+    private final Counter inlined;
+
+    public PayloadStore(SagaProperties sagaProperties, PayloadBlobStore blobs, MeterRegistry meterRegistry) {
+        this.properties = sagaProperties.getClaimCheck();
+        this.blobs = blobs;
+        Duration refresh = properties.getTtl().dividedBy(2);
+        this.stored = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(refresh)
+                .build();
+        this.auditReferences = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(10_000)
+                .expireAfterWrite(refresh)
+                .build();
+        this.pendingWrites = new Semaphore(properties.getMaxPendingWrites());
+        this.writes = meterRegistry.counter("saga.claimcheck.writes");
+        this.deduplicated = meterRegistry.counter("saga.claimcheck.deduplicated");
+        this.inlined = meterRegistry.counter("saga.claimcheck.inlined");
+    }
+
+    /** Se a saída deve ir ao broker como referência em vez do corpo. */
+    public boolean claimsBroker(byte[] body) {
+        return properties.isEnabled() && properties.isBroker() && body.length >= properties.getThreshold();
+    }
+
+    /**
+     * Payload do registro de auditoria: o próprio texto ou, a partir do limite em bytes UTF-8, a
+     * referência. A gravação do conteúdo segue em segundo plano, como a própria auditoria, com no
+     * máximo {@code max-pending-writes} em andamento; acima disso o texto fica no registro.
+     */
+    public String auditPayload(String payload) {
+        if (!properties.isEnabled() || payload == null || utf8Length(payload) < properties.getThreshold()) {
+            return payload;
+        }
+        String cached = auditReferences.getIfPresent(payload);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        String reference = reference(body);
+        if (stored.getIfPresent(reference) == null) {
+            if (!pendingWrites.tryAcquire()) {
+                inlined.increment();
+                return payload;
+            }
+            save(reference, body, StepCodec.TEXT)
+                    .doFinally(signal -> pendingWrites.release())
+                    .subscribe(null, e -> log.warn("Erro ao gravar o payload {}", reference, e));
+        }
+        auditReferences.put(payload, reference);
+        return reference;
+    }
+
+    /** Grava o conteúdo e completa com a referência quando ele está persistido. */
+    public Mono<String> store(byte[] body, String contentType) {
+        String reference = reference(body);
+        return save(reference, body, contentType).thenReturn(reference);
+    }
+
+    public Mono<PayloadBlob> find(String reference) {
+        return blobs.findById(reference)
+                .map(blob -> {
+                    if (blob.isCompressed()) {
+                        blob.setData(inflate(blob.getData(), blob.getSize()));
+                        blob.setCompressed(false);
+                    }
+                    return blob;
+                });
+    }
+
+    public Mono<byte[]> load(String reference) {
+        return find(reference)
+                .map(PayloadBlob::getData)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Payload não encontrado: " + reference)));
+    }
+
+    private Mono<Void> save(String reference, byte[] body, String contentType) {
+        if (stored.getIfPresent(reference) != null) {
+            deduplicated.increment();
+            return Mono.empty();
+        }
+        byte[] compressed = deflate(body);
+        boolean useCompressed = compressed.length < body.length;
+        PayloadBlob blob = new PayloadBlob();
+        blob.setReference(reference);
+        blob.setContentType(contentType);
+        blob.setSize(body.length);
+        blob.setCompressed(useCompressed);
+        blob.setData(useCompressed ? compressed : body);
+        blob.setCreatedAt(Instant.now());
+        return blobs.upsert(blob)
+                .doOnNext(inserted -> {
+                    if (inserted) {
+                        writes.increment();
+                    } else {
+                        deduplicated.increment();
+                    }
+                })
+                .doOnSuccess(inserted -> stored.put(reference, Boolean.TRUE))
+                .then();
+    }
+
+    /** Tamanho do texto em UTF-8, sem codificá-lo. */
+    static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isSurrogate(c)) {
+                // par válido: 4 bytes para 2 chars; surrogate isolado vira '?'
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                }
+            } else if (c >= 0x800) {
+                bytes += 2;
+            } else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    static String reference(byte[] body) {
+        try {
+            return REFERENCE_PREFIX + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int size) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] body = new byte[size];
+            int read = 0;
+            while (read < size && !inflater.finished()) {
+                int n = inflater.inflate(body, read, size - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("fim inesperado do conteúdo comprimido");
+                }
+                read += n;
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Payload comprimido corrompido", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
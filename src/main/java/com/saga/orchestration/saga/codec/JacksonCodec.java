@@ -0,0 +1,43 @@
+package com.saga.orchestration.saga.codec;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Codec sobre um {@link ObjectMapper}. Os formatos padrão derivam do mapper compartilhado da
+ * aplicação para manter módulos e configurações iguais entre JSON, Smile e CBOR.
+ */
+public record JacksonCodec(String contentType, ObjectMapper mapper, boolean textual) implements SagaCodec {
+
+    public static JacksonCodec json(ObjectMapper mapper) {
+        return new JacksonCodec(SagaCodecs.JSON, mapper, true);
+    }
+
+    public static JacksonCodec smile(ObjectMapper mapper) {
+        return new JacksonCodec(SagaCodecs.SMILE, mapper.copyWith(new SmileFactory()), false);
+    }
+
+    public static JacksonCodec cbor(ObjectMapper mapper) {
+        return new JacksonCodec(SagaCodecs.CBOR, mapper.copyWith(new CBORFactory()), false);
+    }
+
+    /** JSON, Smile e CBOR, para montar o {@link SagaCodecs} fora do Spring. */
+    public static List<SagaCodec> defaults(ObjectMapper mapper) {
+        return List.of(json(mapper), smile(mapper), cbor(mapper));
+    }
+
+    @Override
+    public ObjectReader reader(Class<?> type) {
+        return mapper.readerFor(type);
+    }
+
+    @Override
+    public ObjectWriter writer(Class<?> type) {
+        return mapper.writerFor(type);
+    }
+}
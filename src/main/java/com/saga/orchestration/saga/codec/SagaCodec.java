@@ -0,0 +1,21 @@
+package com.saga.orchestration.saga.codec;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Formato de serialização selecionado pelo {@code content-type} AMQP da mensagem. Cada bean
+ * atende um content-type; o {@link StepCodec} pede um leitor e um escritor por step na
+ * inicialização e os reaproveita em todas as mensagens.
+ */
+public interface SagaCodec {
+
+    String contentType();
+
+    ObjectReader reader(Class<?> type);
+
+    ObjectWriter writer(Class<?> type);
+
+    /** Indica se o corpo pode ser lido diretamente como texto UTF-8. */
+    boolean textual();
+}
@@ -0,0 +1,95 @@
+package com.saga.orchestration.saga.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.saga.orchestration.config.SagaProperties;
+
+/**
+ * Codecs disponíveis, um por {@code content-type}, descobertos entre os beans {@link SagaCodec}.
+ * JSON é obrigatório: é o formato das mensagens sem content-type e o da representação textual.
+ */
+@Component
+public class SagaCodecs {
+
+    public static final String JSON = "application/json";
+    public static final String SMILE = "application/x-jackson-smile";
+    public static final String CBOR = "application/cbor";
+
+    private final Map<String, SagaCodec> codecs;
+    private final SagaCodec json;
+    private final SagaCodec output;
+    /** Leitores em árvore dos formatos binários, para reescrevê-los em JSON. */
+    private final Map<String, ObjectReader> trees = new HashMap<>();
+    private final ObjectWriter jsonText;
+
+    public SagaCodecs(List<SagaCodec> codecs, SagaProperties sagaProperties) {
+        Map<String, SagaCodec> byContentType = new LinkedHashMap<>();
+        for (SagaCodec codec : codecs) {
+            if (byContentType.putIfAbsent(codec.contentType(), codec) != null) {
+                throw new IllegalStateException("Mais de um SagaCodec para " + codec.contentType());
+            }
+        }
+        this.codecs = Map.copyOf(byContentType);
+
+        this.json = byContentType.get(JSON);
+        if (json == null) {
+            throw new IllegalStateException("Nenhum SagaCodec para " + JSON);
+        }
+        this.output = byContentType.get(sagaProperties.getCodec().getContentType());
+        if (output == null) {
+            throw new IllegalArgumentException("saga.codec.content-type não suportado: " + sagaProperties.getCodec().getContentType());
+        }
+        byContentType.values().stream()
+                .filter(codec -> !codec.textual())
+                .forEach(codec -> trees.put(codec.contentType(), codec.reader(JsonNode.class)));
+        this.jsonText = json.writer(JsonNode.class);
+    }
+
+    /** Formato das mensagens publicadas ({@code saga.codec.content-type}). */
+    public SagaCodec output() {
+        return output;
+    }
+
+    public SagaCodec json() {
+        return json;
+    }
+
+    public Map<String, SagaCodec> all() {
+        return codecs;
+    }
+
+    /**
+     * Corpo como texto para auditoria e compensação: formatos binários são reescritos em JSON;
+     * textuais e desconhecidos são lidos como UTF-8. Um corpo binário ilegível vai em Base64.
+     */
+    String toText(byte[] body, String contentType) {
+        ObjectReader tree = (contentType == null) ? null : trees.get(contentType);
+        if (tree == null) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        try {
+            return jsonText.writeValueAsString(tree.readValue(body));
+        } catch (IOException e) {
+            return Base64.getEncoder().encodeToString(body);
+        }
+    }
+
+    /**
+     * Cria o codec cacheado de um step: um {@code ObjectReader} por formato para o consumeDTO
+     * e um {@code ObjectWriter} no formato de saída para o produceDTO.
+     */
+    public StepCodec forStep(Class<?> consumeDTO, Class<?> produceDTO) {
+        return new StepCodec(this, consumeDTO, produceDTO);
+    }
+}
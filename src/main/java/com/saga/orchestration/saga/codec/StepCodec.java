@@ -0,0 +1,91 @@
+package com.saga.orchestration.saga.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Leitura e escrita de payloads de um step direto de/para {@code byte[]}, sem passar por String.
+ * A entrada é lida no formato do seu {@code content-type} (JSON quando ausente ou text/plain);
+ * a saída é sempre escrita no formato configurado em {@code saga.codec.content-type}.
+ */
+public final class StepCodec {
+
+    public static final String TEXT = "text/plain";
+
+    private final SagaCodecs codecs;
+    private final boolean rawInput;
+    private final boolean rawOutput;
+    private final Map<String, ObjectReader> readers = new HashMap<>();
+    private final ObjectReader defaultReader;
+    private final ObjectWriter writer;
+    private final String outputContentType;
+
+    StepCodec(SagaCodecs codecs, Class<?> consumeDTO, Class<?> produceDTO) {
+        this.codecs = codecs;
+        this.rawInput = consumeDTO == Void.class;
+        this.rawOutput = produceDTO == Void.class;
+
+        if (!rawInput) {
+            codecs.all().forEach((contentType, codec) -> readers.put(contentType, codec.reader(consumeDTO)));
+        }
+        this.defaultReader = rawInput ? null : readers.get(SagaCodecs.JSON);
+        this.writer = rawOutput ? null : codecs.output().writer(produceDTO);
+        this.outputContentType = rawOutput ? TEXT : codecs.output().contentType();
+    }
+
+    public Object decode(byte[] body, String contentType) throws IOException {
+        if (rawInput) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return reader(contentType).readValue(body);
+    }
+
+    public byte[] encode(Object value) {
+        if (rawOutput) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar resposta", e);
+        }
+    }
+
+    public String outputContentType() {
+        return outputContentType;
+    }
+
+    /**
+     * Representação textual do corpo para auditoria e handlers de compensação. Formatos
+     * binários (Smile, CBOR) são decodificados e reescritos em JSON.
+     */
+    public String toText(byte[] body, String contentType) {
+        return codecs.toText(body, baseType(contentType));
+    }
+
+    private ObjectReader reader(String contentType) {
+        String type = baseType(contentType);
+        if (type == null) {
+            return defaultReader;
+        }
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            throw new IllegalArgumentException("content-type não suportado: " + contentType);
+        }
+        return reader;
+    }
+
+    private static String baseType(String contentType) {
+        if (contentType == null || contentType.isEmpty() || contentType.equals(TEXT)) {
+            return null;
+        }
+        int separator = contentType.indexOf(';');
+        return (separator < 0) ? contentType : contentType.substring(0, separator).trim();
+    }
+}
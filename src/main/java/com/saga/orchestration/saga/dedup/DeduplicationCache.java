@@ -0,0 +1,82 @@
+package com.saga.orchestration.saga.dedup;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saga.orchestration.config.SagaProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deduplicação de redeliveries por (correlationId, step, messageId). O tier em memória é
+ * limitado por tamanho e TTL; o tier compartilhado ({@link ProcessedMessageStore}, opcional) cobre redeliveries
+ * para outra instância após failover.
+ */
+@Component
+public class DeduplicationCache {
+
+    private static final Boolean PRESENT = Boolean.TRUE;
+
+    private final SagaProperties.Dedup properties;
+    private final ProcessedMessageStore shared;
+    private final Cache<String, Boolean> memory;
+    private final Counter memoryHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public DeduplicationCache(SagaProperties sagaProperties, ProcessedMessageStore shared, MeterRegistry meterRegistry) {
+        this.properties = sagaProperties.getDedup();
+        this.shared = shared;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+
+        this.memoryHits = meterRegistry.counter("saga.dedup.hits", "tier", "memory");
+        this.sharedHits = meterRegistry.counter("saga.dedup.hits", "tier", "shared");
+        this.misses = meterRegistry.counter("saga.dedup.misses");
+        meterRegistry.gauge("saga.dedup.size", memory, Cache::estimatedSize);
+    }
+
+    public boolean enabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * A tentativa faz parte da chave: um retry agendado reaproveita o messageId da entrada.
+     */
+    public static String key(String correlationId, String stepName, String messageId, int attempt) {
+        return correlationId + '|' + stepName + '|' + messageId + '|' + attempt;
+    }
+
+    public Mono<Boolean> isDuplicate(String key) {
+        if (memory.getIfPresent(key) != null) {
+            memoryHits.increment();
+            return Mono.just(true);
+        }
+        if (!properties.isShared()) {
+            misses.increment();
+            return Mono.just(false);
+        }
+        return shared.exists(key)
+                .doOnNext(found -> {
+                    if (found) {
+                        sharedHits.increment();
+                        memory.put(key, PRESENT);
+                    } else {
+                        misses.increment();
+                    }
+                });
+    }
+
+    public Mono<Void> markProcessed(String key) {
+        memory.put(key, PRESENT);
+        if (!properties.isShared()) {
+            return Mono.empty();
+        }
+        return shared.save(key);
+    }
+}
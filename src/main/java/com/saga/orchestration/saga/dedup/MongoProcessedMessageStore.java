@@ -0,0 +1,35 @@
+package com.saga.orchestration.saga.dedup;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.model.ProcessedMessage;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Mensagens processadas em {@code saga_processed_messages}, expiradas pelo índice TTL em {@code createdAt}.
+ */
+@Component
+public class MongoProcessedMessageStore implements ProcessedMessageStore {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public MongoProcessedMessageStore(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(key)), ProcessedMessage.class);
+    }
+
+    @Override
+    public Mono<Void> save(String key) {
+        return mongoTemplate.save(new ProcessedMessage(key, Instant.now())).then();
+    }
+}
@@ -0,0 +1,13 @@
+package com.saga.orchestration.saga.dedup;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tier compartilhado da {@link DeduplicationCache}: mensagens já processadas, vistas por todas as instâncias.
+ */
+public interface ProcessedMessageStore {
+
+    Mono<Boolean> exists(String key);
+
+    Mono<Void> save(String key);
+}
@@ -0,0 +1,132 @@
+package com.saga.orchestration.saga.execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.saga.orchestration.annotations.ExecutionMode;
+import com.saga.orchestration.saga.StepDefinition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Executa o método de um step bloqueante fora da thread de entrega do RabbitMQ, com no máximo
+ * {@code executionThreads} invocações simultâneas. As demais esperam na fila do executor,
+ * exposta em {@code saga.step.execution.queued}.
+ */
+@Slf4j
+public final class StepExecutor implements Disposable {
+
+    private final Scheduler scheduler;
+    /** Limite das virtual threads; no pool limitado o próprio número de threads é o limite. */
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private StepExecutor(Scheduler scheduler, Semaphore permits) {
+        this.scheduler = scheduler;
+        this.permits = permits;
+    }
+
+    /** Executor do step, ou {@code null} para steps {@link ExecutionMode#REACTIVE}. */
+    public static StepExecutor create(StepDefinition definition, MeterRegistry registry) {
+        ExecutionMode mode = definition.step().execution();
+        if (mode == ExecutionMode.REACTIVE) {
+            return null;
+        }
+
+        int cap = definition.step().executionThreads();
+        String name = "saga-" + definition.name();
+        ExecutorService virtualThreads = (mode == ExecutionMode.VIRTUAL_THREADS) ? virtualThreadExecutor() : null;
+        if (mode == ExecutionMode.VIRTUAL_THREADS && virtualThreads == null) {
+            log.warn("Virtual threads indisponíveis neste runtime; step {} usará BOUNDED_ELASTIC", definition.name());
+            mode = ExecutionMode.BOUNDED_ELASTIC;
+        }
+
+        StepExecutor executor = (virtualThreads != null)
+                ? new StepExecutor(Schedulers.fromExecutorService(virtualThreads, name), new Semaphore(cap))
+                : new StepExecutor(Schedulers.newBoundedElastic(cap, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, name), null);
+
+        Tags tags = Tags.of("step", definition.name(), "queue", definition.inputQueue(), "mode", mode.name());
+        Gauge.builder("saga.step.execution.queued", executor.queued, AtomicInteger::get)
+                .tags(tags)
+                .description("Invocações aguardando uma thread do executor do step")
+                .register(registry);
+        Gauge.builder("saga.step.execution.active", executor.active, AtomicInteger::get)
+                .tags(tags)
+                .description("Invocações em execução no executor do step")
+                .register(registry);
+        return executor;
+    }
+
+    /**
+     * Invoca o step no executor. O resultado (objeto ou Mono) é emitido na thread do executor,
+     * e um Mono retornado pelo step também é assinado nela.
+     */
+    public Mono<Object> submit(Invocation invocation) {
+        return Mono.defer(() -> {
+            queued.incrementAndGet();
+            // Quem marcar primeiro (execução ou cancelamento) tira a invocação da fila
+            AtomicBoolean dequeued = new AtomicBoolean();
+            return Mono.fromCallable(() -> {
+                        if (permits != null) {
+                            permits.acquire();
+                        }
+                        if (dequeued.compareAndSet(false, true)) {
+                            queued.decrementAndGet();
+                        }
+                        active.incrementAndGet();
+                        try {
+                            return invocation.invoke();
+                        } catch (Throwable e) {
+                            throw Exceptions.propagate(e);
+                        } finally {
+                            active.decrementAndGet();
+                            if (permits != null) {
+                                permits.release();
+                            }
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> {
+                        if (dequeued.compareAndSet(false, true)) {
+                            queued.decrementAndGet();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void dispose() {
+        scheduler.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return scheduler.isDisposed();
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /** Chamada ao método do step, que pode lançar qualquer exceção. */
+    @FunctionalInterface
+    public interface Invocation {
+        Object invoke() throws Throwable;
+    }
+}
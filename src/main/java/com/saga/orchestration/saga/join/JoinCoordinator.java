@@ -0,0 +1,165 @@
+package com.saga.orchestration.saga.join;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.saga.StepDefinition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Joins pendentes no {@link JoinStore} ({@code saga_joins}), indexados por (step, correlationId).
+ * Cada ramo entra com uma atualização atômica antes do ack, e o quorum é decidido pelo estado
+ * devolvido. Assim os ramos podem chegar em instâncias diferentes e o estado sobrevive a restarts.
+ *
+ * <p>Em memória ficam só os timers de prazo e os joins que esta instância viu terminar. Cada
+ * instância que viu um ramo agenda o seu timer, e apenas a primeira a marcar o join como expirado
+ * dispara a compensação. Os ramos pendentes não são guardados localmente: o quorum só vale se for
+ * decidido no estado compartilhado.
+ */
+@Slf4j
+@Component
+public class JoinCoordinator {
+
+    /** Tempo em que um join terminado continua descartando ramos atrasados (índice TTL em finishedAt). */
+    public static final Duration FINISHED_RETENTION = Duration.ofHours(1);
+
+    private final JoinStore store;
+    private final Map<String, Disposable> timers = new ConcurrentHashMap<>();
+    /** Joins encerrados: ramos atrasados (além do quorum ou após o prazo) são descartados sem ir ao store. */
+    private final Cache<String, Boolean> finished = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(FINISHED_RETENTION)
+            .build();
+    private volatile Function<JoinState, Mono<Void>> onTimeout = state -> Mono.empty();
+
+    public JoinCoordinator(JoinStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        meterRegistry.gauge("saga.join.pending", timers, Map::size);
+    }
+
+    /**
+     * Agenda o prazo dos joins pendentes dos steps informados e registra o tratamento de prazo
+     * expirado. Deve rodar antes de os consumers começarem.
+     */
+    public Mono<Void> recover(Collection<StepDefinition> definitions, Function<JoinState, Mono<Void>> onTimeout) {
+        this.onTimeout = onTimeout;
+        Map<String, StepDefinition> joins = new HashMap<>();
+        definitions.stream()
+                .filter(definition -> definition.join() != null)
+                .forEach(definition -> joins.put(definition.name(), definition));
+        if (joins.isEmpty()) {
+            return Mono.empty();
+        }
+        return store.pending(joins.keySet())
+                .doOnNext(snapshot -> schedule(joins.get(snapshot.getStepName()), snapshot.getId(), snapshot.getCreatedAt()))
+                .count()
+                .doOnNext(count -> log.info("{} joins pendentes recuperados", count))
+                .then();
+    }
+
+    /**
+     * Registra a saída de um ramo. Emite o estado quando esta entrega deve executar o join: a que
+     * atingiu o quorum, ou a reentrega dela enquanto o join não foi encerrado. Vazio enquanto o
+     * quorum não é atingido, para ramos além do quorum e depois que o join terminou.
+     */
+    public Mono<JoinState> arrive(StepDefinition definition, String correlationId, String branch, byte[] body, String contentType) {
+        String key = key(definition.name(), correlationId);
+        if (finished.getIfPresent(key) != null) {
+            log.debug("Ramo {} recebido após o término do join {} da saga {}, ignorando", branch, definition.name(), correlationId);
+            return Mono.empty();
+        }
+        return store.arrive(key, definition.name(), correlationId, branch, new JoinBranch(contentType, body))
+                .flatMap(snapshot -> {
+                    if (snapshot.getFinishedAt() != null) {
+                        finished.put(key, Boolean.TRUE);
+                        log.debug("Ramo {} recebido após o término do join {} da saga {}, ignorando", branch, definition.name(), correlationId);
+                        return Mono.empty();
+                    }
+                    JoinState state = JoinState.of(snapshot);
+                    if (state.isReleased()) {
+                        return state.releasedBy(branch) ? Mono.just(state) : Mono.empty();
+                    }
+                    schedule(definition, key, snapshot.getCreatedAt());
+                    return state.reached(definition.join().required()) ? release(key, branch) : Mono.empty();
+                });
+    }
+
+    /** Join já liberado e ainda não encerrado, para reexecução em um retry do step de join. */
+    public Mono<JoinState> resume(StepDefinition definition, String correlationId) {
+        return store.released(key(definition.name(), correlationId)).map(JoinState::of);
+    }
+
+    /**
+     * Encerra o join (sucesso ou falha definitiva) e devolve o estado. Vazio se ele já tinha sido
+     * encerrado, por esta ou por outra instância.
+     */
+    public Mono<JoinState> finish(StepDefinition definition, String correlationId) {
+        String key = key(definition.name(), correlationId);
+        cancel(key);
+        return store.finish(key)
+                .doOnSuccess(snapshot -> finished.put(key, Boolean.TRUE))
+                .map(JoinState::of);
+    }
+
+    /** Reserva a liberação para este ramo; só um dos ramos que viram o quorum a obtém. */
+    private Mono<JoinState> release(String key, String branch) {
+        return store.release(key, branch).map(JoinState::of);
+    }
+
+    private void schedule(StepDefinition definition, String key, Instant createdAt) {
+        Duration timeout = definition.join().timeout();
+        if (timeout == null) {
+            return;
+        }
+        timers.computeIfAbsent(key, k -> {
+            Duration remaining = Duration.between(Instant.now(), createdAt.plus(timeout));
+            return Mono.delay(remaining.isNegative() ? Duration.ZERO : remaining)
+                    .flatMap(tick -> expire(k))
+                    .onErrorResume(e -> {
+                        log.error("Erro ao expirar o join {}", k, e);
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> timers.remove(k))
+                    .subscribe();
+        });
+    }
+
+    /** Expira o join se ele não foi liberado nem encerrado; join liberado segue o caminho normal do step. */
+    private Mono<Void> expire(String key) {
+        return store.expire(key)
+                .doOnNext(snapshot -> finished.put(key, Boolean.TRUE))
+                .flatMap(snapshot -> onTimeout.apply(JoinState.of(snapshot)));
+    }
+
+    private void cancel(String key) {
+        Disposable timer = timers.remove(key);
+        if (timer != null) {
+            timer.dispose();
+        }
+    }
+
+    /** Ramos que ainda não chegaram, para auditoria do timeout. */
+    public static List<String> missing(StepDefinition definition, JoinState state) {
+        Map<String, JoinBranch> received = state.branches();
+        return definition.join().branches().stream().filter(branch -> !received.containsKey(branch)).toList();
+    }
+
+    private static String key(String stepName, String correlationId) {
+        return stepName + '|' + correlationId;
+    }
+}
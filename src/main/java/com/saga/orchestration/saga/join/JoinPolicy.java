@@ -0,0 +1,26 @@
+package com.saga.orchestration.saga.join;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.saga.orchestration.annotations.Join;
+
+/**
+ * Configuração de fan-in de um step, derivada de {@link Join}.
+ *
+ * @param required ramos necessários para liberar o join
+ * @param timeout  prazo para atingir o quorum, ou {@code null} sem prazo
+ */
+public record JoinPolicy(List<String> branches, int required, Duration timeout) {
+
+    public static JoinPolicy of(Join join) {
+        List<String> branches = List.of(join.branches());
+        int required = (join.quorum() <= 0) ? branches.size() : Math.min(join.quorum(), branches.size());
+        Duration timeout = (join.timeoutMillis() > 0) ? Duration.ofMillis(join.timeoutMillis()) : null;
+        return new JoinPolicy(branches, required, timeout);
+    }
+
+    public boolean accepts(String branch) {
+        return branches.contains(branch);
+    }
+}
@@ -0,0 +1,44 @@
+package com.saga.orchestration.saga.join;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.model.JoinSnapshot;
+
+/**
+ * Join de uma saga como gravado em {@code saga_joins}: os ramos recebidos, na ordem de chegada,
+ * quantos ramos distintos chegaram e qual deles o liberou. Quem decide a liberação é o update
+ * atômico do {@link JoinStore}, para que a decisão valha entre instâncias.
+ */
+public record JoinState(String stepName, String correlationId, Instant createdAt, Map<String, JoinBranch> branches,
+        int arrived, String releasedBy) {
+
+    public JoinState {
+        branches = Collections.unmodifiableMap(new LinkedHashMap<>(branches));
+    }
+
+    static JoinState of(JoinSnapshot snapshot) {
+        return new JoinState(snapshot.getStepName(), snapshot.getCorrelationId(), snapshot.getCreatedAt(),
+                snapshot.getBranches(), snapshot.getArrived().size(), snapshot.getReleasedBy());
+    }
+
+    /** Quorum atingido pelos ramos distintos recebidos; reentregas de um ramo não contam de novo. */
+    boolean reached(int required) {
+        return arrived >= required;
+    }
+
+    boolean isReleased() {
+        return releasedBy != null;
+    }
+
+    /**
+     * Se o ramo é o que liberou o join. A reentrega dele significa que a execução anterior não
+     * terminou (o join ainda não foi encerrado), então o join é executado de novo.
+     */
+    boolean releasedBy(String branch) {
+        return branch.equals(releasedBy);
+    }
+}
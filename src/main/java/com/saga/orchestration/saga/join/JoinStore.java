@@ -0,0 +1,35 @@
+package com.saga.orchestration.saga.join;
+
+import java.util.Collection;
+
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.model.JoinSnapshot;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Estado compartilhado dos joins usado pelo {@link JoinCoordinator}. Cada operação é uma única
+ * atualização atômica do join identificado por {@code key}; é ela que decide quorum, liberação e
+ * término quando os ramos chegam em instâncias diferentes. "Aberto" é o join sem {@code finishedAt}.
+ */
+public interface JoinStore {
+
+    /** Joins abertos e ainda não liberados dos steps informados. */
+    Flux<JoinSnapshot> pending(Collection<String> stepNames);
+
+    /** Cria o join se preciso e registra o ramo; devolve o estado já com ele. */
+    Mono<JoinSnapshot> arrive(String key, String stepName, String correlationId, String branch, JoinBranch content);
+
+    /** O join aberto e já liberado, se existir. */
+    Mono<JoinSnapshot> released(String key);
+
+    /** Libera o join aberto e não liberado para o ramo; vazio se outro ramo chegou antes. */
+    Mono<JoinSnapshot> release(String key, String branch);
+
+    /** Encerra o join aberto, liberado ou não; vazio se ele já estava encerrado. */
+    Mono<JoinSnapshot> finish(String key);
+
+    /** Encerra o join aberto que não foi liberado; vazio se ele foi liberado ou encerrado antes. */
+    Mono<JoinSnapshot> expire(String key);
+}
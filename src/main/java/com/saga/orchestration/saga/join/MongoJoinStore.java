@@ -0,0 +1,85 @@
+package com.saga.orchestration.saga.join;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.model.JoinSnapshot;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Joins em {@code saga_joins}, um documento por (step, correlationId), alterados por
+ * {@code findAndModify}. O ramo entra com {@code $addToSet}, então reentregas não contam de novo.
+ */
+@Component
+public class MongoJoinStore implements JoinStore {
+
+    private static final FindAndModifyOptions UPSERT = FindAndModifyOptions.options().upsert(true).returnNew(true);
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public MongoJoinStore(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<JoinSnapshot> pending(Collection<String> stepNames) {
+        Query pending = Query.query(Criteria.where("stepName").in(stepNames)
+                .and("releasedBy").exists(false)
+                .and("finishedAt").exists(false));
+        return mongoTemplate.find(pending, JoinSnapshot.class);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> arrive(String key, String stepName, String correlationId, String branch, JoinBranch content) {
+        Update update = new Update()
+                .setOnInsert("stepName", stepName)
+                .setOnInsert("correlationId", correlationId)
+                .setOnInsert("createdAt", Instant.now())
+                .set("branches." + branch, content)
+                .addToSet("arrived", branch);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(key)), update, UPSERT, JoinSnapshot.class)
+                // dois primeiros ramos simultâneos: o upsert perdedor encontra o documento na segunda vez
+                .retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance));
+    }
+
+    @Override
+    public Mono<JoinSnapshot> released(String key) {
+        return mongoTemplate.findOne(open(key).addCriteria(Criteria.where("releasedBy").exists(true)), JoinSnapshot.class);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> release(String key, String branch) {
+        return mongoTemplate.findAndModify(unreleased(key), new Update().set("releasedBy", branch), RETURN_NEW, JoinSnapshot.class);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> finish(String key) {
+        return mongoTemplate.findAndModify(open(key), new Update().set("finishedAt", Instant.now()), JoinSnapshot.class);
+    }
+
+    @Override
+    public Mono<JoinSnapshot> expire(String key) {
+        return mongoTemplate.findAndModify(unreleased(key), new Update().set("finishedAt", Instant.now()), RETURN_NEW, JoinSnapshot.class);
+    }
+
+    private static Query open(String key) {
+        return Query.query(Criteria.where("_id").is(key).and("finishedAt").exists(false));
+    }
+
+    private static Query unreleased(String key) {
+        return open(key).addCriteria(Criteria.where("releasedBy").exists(false));
+    }
+}
@@ -0,0 +1,127 @@
+package com.saga.orchestration.saga.limit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.saga.orchestration.saga.StepDefinition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Limite de mensagens simultâneas de um step ajustado pela latência (algoritmo de gradiente):
+ * a latência de cada mensagem é comparada à média de longo prazo. Latência estável faz o limite
+ * crescer em {@code sqrt(limite)}; latência acima da média o reduz na proporção. Um erro
+ * (falha de publicação) corta o limite em 10%. O limite fica sempre entre {@code min} e {@code max}.
+ */
+public final class AdaptiveLimiter {
+
+    /** Peso de cada amostra na média de longo prazo da latência. */
+    private static final double LONG_WINDOW_WEIGHT = 0.05;
+    /** Fração do novo limite aplicada a cada amostra, para suavizar oscilações. */
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int min;
+    private final int max;
+    private final Deque<MonoSink<Void>> waiting = new ArrayDeque<>();
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+
+    AdaptiveLimiter(int min, int max) {
+        this.min = min;
+        this.max = max;
+        this.limit = Math.max(min, max / 2);
+    }
+
+    public static AdaptiveLimiter register(MeterRegistry registry, StepDefinition definition) {
+        int max = definition.step().concurrency();
+        int min = Math.max(1, Math.min(definition.step().minConcurrency(), max));
+        AdaptiveLimiter limiter = new AdaptiveLimiter(min, max);
+        Gauge.builder("saga.step.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                .tags(Tags.of("step", definition.name(), "queue", definition.inputQueue()))
+                .description("Limite adaptativo de mensagens simultâneas do step")
+                .register(registry);
+        return limiter;
+    }
+
+    /** Assina {@code source} quando houver vaga e alimenta o limite com a latência dele. */
+    public <T> Mono<T> limit(Mono<T> source) {
+        return acquire().then(Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source.doFinally(signal -> release(System.nanoTime() - start, signal == SignalType.ON_ERROR));
+        }));
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    Mono<Void> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                if (inFlight >= (int) limit) {
+                    waiting.add(sink);
+                    sink.onCancel(() -> cancel(sink));
+                    return;
+                }
+                inFlight++;
+            }
+            sink.success();
+        });
+    }
+
+    /**
+     * O sink só executa o onCancel se o cancelamento vencer o {@code success()}. Se o waiter já
+     * tinha sido admitido por {@link #admit()}, a vaga reservada nunca será usada e volta ao pool.
+     */
+    private void cancel(MonoSink<Void> sink) {
+        synchronized (this) {
+            if (waiting.remove(sink)) {
+                return;
+            }
+            inFlight--;
+        }
+        admit();
+    }
+
+    void release(long rttNanos, boolean dropped) {
+        synchronized (this) {
+            inFlight--;
+            update(rttNanos, dropped);
+        }
+        admit();
+    }
+
+    private void admit() {
+        Deque<MonoSink<Void>> admitted = new ArrayDeque<>();
+        synchronized (this) {
+            while (!waiting.isEmpty() && inFlight < (int) limit) {
+                admitted.add(waiting.poll());
+                inFlight++;
+            }
+        }
+        admitted.forEach(MonoSink::success);
+    }
+
+    private void update(long rttNanos, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(min, limit * BACKOFF_RATIO);
+            return;
+        }
+        longRtt = (longRtt == 0) ? rttNanos : longRtt * (1 - LONG_WINDOW_WEIGHT) + rttNanos * LONG_WINDOW_WEIGHT;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRtt / Math.max(rttNanos, 1)));
+        double target = limit * gradient + Math.sqrt(limit);
+        // Sem demanda (menos da metade do limite em uso) o limite não cresce
+        if (target > limit && inFlight * 2 < limit) {
+            return;
+        }
+        limit = Math.max(min, Math.min(max, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
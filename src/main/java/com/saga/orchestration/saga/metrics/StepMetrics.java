@@ -0,0 +1,66 @@
+package com.saga.orchestration.saga.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters de um {@code @Step}, registrados uma vez na inicialização e tagueados por step e fila.
+ */
+public record StepMetrics(
+    Timer deserialize,
+    Timer invoke,
+    /** Entrega do registro de auditoria à fila do {@code SagaAuditWriter}; a gravação é medida em {@code saga.audit.write}. */
+    Timer enqueue,
+    Timer publish,
+    Counter done,
+    Counter failed,
+    Counter retry,
+    Counter fallback,
+    Counter rollback,
+    Counter expired,
+    AtomicInteger inFlight
+) {
+
+    public static StepMetrics register(MeterRegistry registry, String stepName, String queue) {
+        Tags tags = Tags.of("step", stepName, "queue", queue);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        Gauge.builder("saga.step.inflight", inFlight, AtomicInteger::get)
+                .tags(tags)
+                .description("Mensagens em processamento no step")
+                .register(registry);
+
+        return new StepMetrics(
+                phase(registry, tags, "deserialize"),
+                phase(registry, tags, "invoke"),
+                phase(registry, tags, "enqueue"),
+                phase(registry, tags, "publish"),
+                outcome(registry, tags, "done"),
+                outcome(registry, tags, "failed"),
+                outcome(registry, tags, "retry"),
+                outcome(registry, tags, "fallback"),
+                outcome(registry, tags, "rollback"),
+                outcome(registry, tags, "expired"),
+                inFlight);
+    }
+
+    private static Timer phase(MeterRegistry registry, Tags tags, String phase) {
+        return Timer.builder("saga.step.phase")
+                .tags(tags)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter outcome(MeterRegistry registry, Tags tags, String outcome) {
+        return Counter.builder("saga.step.outcome")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.saga.orchestration.saga.publish;
+
+/**
+ * Publicação não confirmada pelo broker (nack, timeout de confirm ou canal perdido).
+ * A mensagem de entrada deve voltar para a fila.
+ */
+public class PublishException extends RuntimeException {
+
+    private final boolean nack;
+
+    public PublishException(String message) {
+        this(message, false);
+    }
+
+    public PublishException(String message, boolean nack) {
+        super(message);
+        this.nack = nack;
+    }
+
+    public PublishException(String message, Throwable cause) {
+        super(message, cause);
+        this.nack = false;
+    }
+
+    /** O broker respondeu com basic.nack (em vez de o confirm não chegar). */
+    public boolean isNack() {
+        return nack;
+    }
+}
@@ -0,0 +1,17 @@
+package com.saga.orchestration.saga.publish;
+
+/**
+ * Publicação recusada de forma definitiva: mensagem sem rota (retorno do mandatory), fila de
+ * destino cheia com {@code reject-publish} ou fila de publicação local cheia. Reentregar a
+ * entrada só repetiria o step e seus efeitos, então ela vai para a dead-letter queue.
+ */
+public class RejectedPublishException extends RuntimeException {
+
+    public RejectedPublishException(String message) {
+        super(message);
+    }
+
+    public RejectedPublishException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
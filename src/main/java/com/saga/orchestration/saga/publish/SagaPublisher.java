@@ -0,0 +1,138 @@
+package com.saga.orchestration.saga.publish;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.config.RabbitConnections;
+import com.saga.orchestration.config.SagaProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.rabbitmq.ChannelPool;
+import reactor.rabbitmq.ChannelPoolFactory;
+import reactor.rabbitmq.ChannelPoolOptions;
+import reactor.rabbitmq.CorrelableOutboundMessage;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
+import reactor.rabbitmq.SendOptions;
+import reactor.util.retry.Retry;
+
+/**
+ * Publisher compartilhado por todos os steps. Cada canal do pool mantém uma única assinatura
+ * longa de {@code sendWithPublishConfirms}; {@link #publish} só completa quando o broker
+ * confirma a mensagem, permitindo amarrar o ack da entrada ao confirm da saída. As mensagens
+ * são publicadas como mandatory: sem fila para a routing key, o retorno do broker falha a
+ * publicação em vez de virar um ack. Os canais são distribuídos entre as conexões de
+ * {@link RabbitConnections}.
+ */
+@Slf4j
+@Component
+public class SagaPublisher implements DisposableBean {
+
+    /** Tentativas de emissão sob contenção, com pausas de 1µs, 2µs, 4µs... (~0,25ms no total). */
+    private static final int MAX_EMIT_ATTEMPTS = 8;
+
+    private final Lane[] lanes;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration confirmTimeout;
+    private final ChannelPool[] channelPools;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public SagaPublisher(RabbitConnections connections, SagaProperties sagaProperties) {
+        SagaProperties.Publisher properties = sagaProperties.getPublisher();
+        this.confirmTimeout = properties.getConfirmTimeout();
+
+        int poolCount = Math.min(connections.size(), properties.getChannels());
+        int channelsPerPool = (properties.getChannels() + poolCount - 1) / poolCount;
+        this.channelPools = new ChannelPool[poolCount];
+        SendOptions[] sendOptions = new SendOptions[poolCount];
+        for (int i = 0; i < poolCount; i++) {
+            channelPools[i] = ChannelPoolFactory.createChannelPool(connections.connection(i),
+                    new ChannelPoolOptions().maxCacheSize(channelsPerPool));
+            sendOptions[i] = new SendOptions()
+                    .channelPool(channelPools[i])
+                    .maxInFlight(properties.getMaxInFlight())
+                    .trackReturned(true);
+        }
+
+        this.lanes = new Lane[properties.getChannels()];
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = new Lane(properties.getMaxInFlight());
+            lanes[i] = lane;
+            int pool = i % poolCount;
+            subscriptions.add(connections.sender(pool).sendWithTypedPublishConfirms(lane.outbound.asFlux(), sendOptions[pool])
+                    .doOnNext(SagaPublisher::complete)
+                    .doOnError(e -> log.error("Canal de publicação perdido, reconectando", e))
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100)).maxBackoff(Duration.ofSeconds(5)))
+                    .subscribe());
+        }
+    }
+
+    public Mono<Void> publish(OutboundMessage message) {
+        Sinks.One<Void> confirm = Sinks.one();
+        CorrelableOutboundMessage<Sinks.One<Void>> correlable = new CorrelableOutboundMessage<>(
+                message.getExchange(), message.getRoutingKey(), message.getProperties(), message.getBody(), confirm);
+        Lane lane = lanes[Math.floorMod(next.getAndIncrement(), lanes.length)];
+
+        return emit(lane, correlable, 0)
+                .then(confirm.asMono().timeout(confirmTimeout))
+                .onErrorMap(TimeoutException.class,
+                        e -> new PublishException("Confirm não recebido para " + message.getRoutingKey(), e));
+    }
+
+    /**
+     * Emissões concorrentes de vários steps no mesmo canal disputam só o tempo de um onNext: são
+     * repetidas com pausas curtas e limitadas, agendadas fora da thread que publica (em geral a de
+     * entrega do Rabbit). Buffer cheio (confirms atrasados) falha na hora, sem requeue da entrada.
+     */
+    private static Mono<Void> emit(Lane lane, CorrelableOutboundMessage<Sinks.One<Void>> message, int attempt) {
+        return Mono.defer(() -> {
+            Sinks.EmitResult result = lane.outbound.tryEmitNext(message);
+            if (result.isSuccess()) {
+                return Mono.empty();
+            }
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                return Mono.error(new RejectedPublishException("Fila de publicação cheia para " + message.getRoutingKey()));
+            }
+            if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED && attempt < MAX_EMIT_ATTEMPTS) {
+                return Mono.delay(Duration.ofNanos(1_000L << attempt)).then(emit(lane, message, attempt + 1));
+            }
+            return Mono.error(new PublishException("Publicação indisponível para " + message.getRoutingKey() + ": " + result));
+        });
+    }
+
+    private static void complete(OutboundMessageResult<CorrelableOutboundMessage<Sinks.One<Void>>> result) {
+        Sinks.One<Void> confirm = result.getOutboundMessage().getCorrelationMetadata();
+        String routingKey = result.getOutboundMessage().getRoutingKey();
+        if (result.isReturned()) {
+            confirm.tryEmitError(new RejectedPublishException("Mensagem sem rota para " + routingKey));
+        } else if (result.isAck()) {
+            confirm.tryEmitEmpty();
+        } else {
+            confirm.tryEmitError(new PublishException("Broker recusou a mensagem para " + routingKey, true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.dispose();
+        for (ChannelPool channelPool : channelPools) {
+            channelPool.close();
+        }
+    }
+
+    private static final class Lane {
+        private final Sinks.Many<CorrelableOutboundMessage<Sinks.One<Void>>> outbound;
+
+        private Lane(int bufferSize) {
+            this.outbound = Sinks.many().multicast().onBackpressureBuffer(bufferSize, false);
+        }
+    }
+}
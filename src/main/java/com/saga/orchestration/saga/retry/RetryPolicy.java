@@ -0,0 +1,46 @@
+package com.saga.orchestration.saga.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.saga.orchestration.annotations.Step;
+
+/**
+ * Política de retry de um step. Cada tentativa usa sua própria fila de espera
+ * ({@code <consume>.retry.<n>}) com TTL e dead-letter de volta para a fila do step,
+ * então a espera acontece no broker, sem ocupar consumer nem thread do Reactor.
+ *
+ * <p>O jitter vai na expiração de cada mensagem, limitada pelo TTL da fila; como o RabbitMQ
+ * só expira mensagens na cabeça da fila, o atraso real pode crescer até a janela do jitter.
+ */
+public record RetryPolicy(String inputQueue, int maxAttempts, long initialBackoffMillis, double multiplier, double jitter) {
+
+    public static final String ATTEMPT_HEADER = "x-attempt";
+
+    public static RetryPolicy of(Step step) {
+        return new RetryPolicy(step.consume(), Math.max(1, step.maxAttempts()), step.initialBackoffMillis(),
+                step.multiplier(), Math.min(1.0, Math.max(0.0, step.jitter())));
+    }
+
+    public boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    /** Fila de espera usada após a falha da tentativa {@code attempt}. */
+    public String delayQueue(int attempt) {
+        return inputQueue + ".retry." + attempt;
+    }
+
+    public long baseDelay(int attempt) {
+        return (long) (initialBackoffMillis * Math.pow(multiplier, attempt - 1));
+    }
+
+    /** TTL da fila de espera: maior atraso possível para a tentativa. */
+    public long maxDelay(int attempt) {
+        return (long) Math.ceil(baseDelay(attempt) * (1 + jitter));
+    }
+
+    public long nextDelay(int attempt) {
+        double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.max(1, (long) (baseDelay(attempt) * factor));
+    }
+}
@@ -0,0 +1,70 @@
+package com.saga.orchestration.saga.tracing;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.Delivery;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.saga.SagaHeaders;
+import com.saga.orchestration.saga.StepDefinition;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+/**
+ * Trace context W3C ({@code traceparent}/{@code tracestate}) nos headers AMQP da saga. Cada step é
+ * um span CONSUMER filho do step que publicou a mensagem, então a saga inteira vira uma única trace.
+ *
+ * <p>A amostragem é decidida uma vez, no primeiro step, e viaja no flag do traceparent: os steps
+ * seguintes só herdam a decisão. Uma trace chega completa ao collector ou não chega, o que permite
+ * amostragem por cauda (tail sampling) no collector sem fragmentos de sagas.
+ */
+@Component
+public class SagaTracing {
+
+    private static final Propagator.Getter<Map<String, Object>> GETTER = (headers, key) -> {
+        Object value = headers.get(key);
+        return (value != null) ? value.toString() : null;
+    };
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+    private final SagaProperties.Tracing properties;
+
+    @Autowired
+    public SagaTracing(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator, SagaProperties sagaProperties) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP), sagaProperties);
+    }
+
+    public SagaTracing(Tracer tracer, Propagator propagator, SagaProperties sagaProperties) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+        this.properties = sagaProperties.getTracing();
+    }
+
+    /** Abre o span do step como filho do contexto recebido nos headers (ou raiz, no início da saga). */
+    public StepTrace start(StepDefinition definition, Delivery delivery) {
+        if (!properties.isEnabled()) {
+            return StepTrace.NOOP;
+        }
+        Map<String, Object> headers = delivery.getProperties().getHeaders();
+        Span span = propagator.extract((headers != null) ? headers : Map.of(), GETTER)
+                .name(definition.name())
+                .kind(Span.Kind.CONSUMER)
+                .start();
+        if (!span.isNoop()) {
+            span.tag("messaging.system", "rabbitmq");
+            span.tag("messaging.destination.name", definition.inputQueue());
+            span.tag("saga.step", definition.name());
+            Object correlationId = SagaHeaders.header(delivery, SagaHeaders.CORRELATION_ID);
+            if (correlationId != null) {
+                span.tag("saga.correlation_id", correlationId.toString());
+            }
+        }
+        return new StepTrace(tracer, propagator, span, properties.isPhases() && !span.isNoop());
+    }
+}
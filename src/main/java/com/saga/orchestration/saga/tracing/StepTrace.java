@@ -0,0 +1,84 @@
+package com.saga.orchestration.saga.tracing;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.rabbitmq.client.Delivery;
+import com.saga.orchestration.saga.SagaHeaders;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+/**
+ * Span de uma execução de step. As fases reaproveitam os {@link System#nanoTime()} que o engine já
+ * mede para as métricas: viram spans filhos com início e fim retroativos, sem relógio extra nem
+ * escopo em ThreadLocal. Em steps não amostrados só o contexto é propagado.
+ */
+public final class StepTrace {
+
+    public static final StepTrace NOOP = new StepTrace(Tracer.NOOP, Propagator.NOOP, Span.NOOP, false);
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+    private final Span span;
+    private final boolean phases;
+    private final long baseNanos;
+    private final long baseMicros;
+
+    StepTrace(Tracer tracer, Propagator propagator, Span span, boolean phases) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+        this.span = span;
+        this.phases = phases;
+        this.baseNanos = phases ? System.nanoTime() : 0;
+        this.baseMicros = phases ? ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()) : 0;
+    }
+
+    /**
+     * Tempo na fila: da publicação (header {@link SagaHeaders#PUBLISHED_AT}) até a entrega. Entre
+     * hosts diferentes inclui a diferença de relógio entre eles.
+     */
+    public void brokerWait(Delivery delivery) {
+        if (!phases) {
+            return;
+        }
+        Object publishedAt = SagaHeaders.header(delivery, SagaHeaders.PUBLISHED_AT);
+        if (publishedAt instanceof Number number && number.longValue() * 1000 < baseMicros) {
+            tracer.spanBuilder()
+                    .setParent(span.context())
+                    .name("broker-wait")
+                    .startTimestamp(number.longValue(), TimeUnit.MILLISECONDS)
+                    .start()
+                    .end(baseMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /** Fase do step entre dois instantes de {@link System#nanoTime()}. */
+    public void phase(String name, long startNanos, long endNanos) {
+        if (!phases) {
+            return;
+        }
+        tracer.spanBuilder()
+                .setParent(span.context())
+                .name(name)
+                .startTimestamp(baseMicros + (startNanos - baseNanos) / 1000, TimeUnit.MICROSECONDS)
+                .start()
+                .end(baseMicros + (endNanos - baseNanos) / 1000, TimeUnit.MICROSECONDS);
+    }
+
+    /** Grava o traceparent deste step nos headers da mensagem de saída. */
+    public void inject(Map<String, Object> headers) {
+        propagator.inject(span.context(), headers, Map::put);
+    }
+
+    public void error(Throwable error) {
+        span.error(error);
+    }
+
+    public void end() {
+        span.end();
+    }
+}
@@ -0,0 +1,15 @@
+package com.saga.orchestration.saga.transport;
+
+import com.rabbitmq.client.Delivery;
+
+/**
+ * Entrega recebida por um step, com o controle de ack do transporte que a originou.
+ */
+public interface InboundDelivery {
+
+    Delivery delivery();
+
+    void ack();
+
+    void nack(boolean requeue);
+}
@@ -0,0 +1,95 @@
+package com.saga.orchestration.saga.transport;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.Delivery;
+import com.saga.orchestration.annotations.AckMode;
+import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.config.RabbitConnections;
+import com.saga.orchestration.config.RabbitProperties;
+import com.saga.orchestration.saga.StepDefinition;
+import com.saga.orchestration.saga.publish.SagaPublisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.AcknowledgableDelivery;
+import reactor.rabbitmq.ConsumeOptions;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.Receiver;
+
+/**
+ * Transporte via reactor-rabbitmq: consumo com basic.qos por step e publicação com confirms
+ * pelo {@link SagaPublisher}. Os consumers dos steps são distribuídos em rodízio entre as
+ * conexões de {@link RabbitConnections}.
+ */
+@Component
+public class RabbitSagaTransport implements SagaTransport {
+
+    private final RabbitConnections connections;
+    private final SagaPublisher publisher;
+    private final RabbitProperties rabbitProperties;
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    public RabbitSagaTransport(RabbitConnections connections, SagaPublisher publisher, RabbitProperties rabbitProperties) {
+        this.connections = connections;
+        this.publisher = publisher;
+        this.rabbitProperties = rabbitProperties;
+    }
+
+    @Override
+    public Flux<InboundDelivery> consume(StepDefinition definition) {
+        Step step = definition.step();
+        ConsumeOptions options = new ConsumeOptions().qos(step.prefetch());
+        int consumers = Math.max(1, step.consumers());
+        int first = nextConnection.getAndAdd(consumers);
+
+        return Flux.range(0, consumers)
+                .flatMap(i -> consume(connections.receiver(first + i), definition.inputQueue(), step.ackMode(), options), consumers);
+    }
+
+    private static Flux<InboundDelivery> consume(Receiver receiver, String queue, AckMode ackMode, ConsumeOptions options) {
+        return (ackMode == AckMode.MANUAL)
+                ? receiver.consumeManualAck(queue, options).map(ManualAck::new)
+                : receiver.consumeAutoAck(queue, options).map(AutoAck::new);
+    }
+
+    @Override
+    public Mono<Void> publish(OutboundMessage message) {
+        return publisher.publish(message);
+    }
+
+    @Override
+    public Mono<Void> declareTopology(Collection<StepDefinition> steps) {
+        if (!rabbitProperties.isDeclareTopology()) {
+            return Mono.empty();
+        }
+        return new RabbitTopology(connections.sender(0), rabbitProperties.getExchange()).declare(steps);
+    }
+
+    private record ManualAck(AcknowledgableDelivery delivery) implements InboundDelivery {
+
+        @Override
+        public void ack() {
+            delivery.ack();
+        }
+
+        @Override
+        public void nack(boolean requeue) {
+            delivery.nack(requeue);
+        }
+    }
+
+    private record AutoAck(Delivery delivery) implements InboundDelivery {
+
+        @Override
+        public void ack() {
+        }
+
+        @Override
+        public void nack(boolean requeue) {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.saga.orchestration.saga.transport;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.saga.orchestration.annotations.QueueOptions;
+import com.saga.orchestration.annotations.QueueType;
+import com.saga.orchestration.saga.StepDefinition;
+import com.saga.orchestration.saga.retry.RetryPolicy;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.BindingSpecification;
+import reactor.rabbitmq.ExchangeSpecification;
+import reactor.rabbitmq.QueueSpecification;
+import reactor.rabbitmq.Sender;
+
+/**
+ * Topologia derivada dos {@code @Step}: exchange topic da saga, fila de entrada de cada step
+ * (com os argumentos de {@link QueueOptions}) ligada pela routing key igual ao nome da fila,
+ * dead-letter queue, filas de espera do retry e as filas de saída consumidas fora deste serviço.
+ */
+final class RabbitTopology {
+
+    static final String DLQ_SUFFIX = ".dlq";
+
+    private final Sender sender;
+    private final String exchange;
+    private final String deadLetterExchange;
+
+    RabbitTopology(Sender sender, String exchange) {
+        this.sender = sender;
+        this.exchange = exchange;
+        this.deadLetterExchange = exchange + ".dlx";
+    }
+
+    Mono<Void> declare(Collection<StepDefinition> steps) {
+        // Steps que compartilham a fila de entrada: vale o primeiro, como em StepRegistry.consumerOf
+        Map<String, StepDefinition> inputs = new LinkedHashMap<>();
+        steps.forEach(definition -> inputs.putIfAbsent(definition.inputQueue(), definition));
+        Set<String> outputs = new LinkedHashSet<>();
+        steps.forEach(definition -> outputs.addAll(definition.outputQueues()));
+        outputs.removeAll(inputs.keySet());
+        boolean deadLetter = inputs.values().stream().anyMatch(definition -> definition.step().queue().deadLetter());
+
+        Mono<Void> exchanges = Mono.when(
+                sender.declareExchange(ExchangeSpecification.exchange(exchange).type("topic").durable(true)),
+                deadLetter
+                    ? sender.declareExchange(ExchangeSpecification.exchange(deadLetterExchange).type("topic").durable(true))
+                    : Mono.empty());
+
+        return exchanges
+                .thenMany(Flux.fromIterable(inputs.values()).flatMap(this::declareStep))
+                .thenMany(Flux.fromIterable(outputs).flatMap(queue -> declareQueue(QueueSpecification.queue(queue).durable(true), exchange, queue)))
+                .thenMany(Flux.fromIterable(steps).flatMap(this::declareRetryQueues))
+                .then();
+    }
+
+    private Mono<Void> declareStep(StepDefinition definition) {
+        String queue = definition.inputQueue();
+        QueueOptions options = definition.step().queue();
+
+        Map<String, Object> arguments = typeArguments(options);
+        if (options.maxLength() > 0) {
+            arguments.put("x-max-length", options.maxLength());
+            // Publicação recusada vira nack no confirm, e o step anterior manda a entrada para a DLQ
+            arguments.put("x-overflow", "reject-publish");
+        }
+        Mono<Void> deadLetterQueue = Mono.empty();
+        if (options.deadLetter()) {
+            arguments.put("x-dead-letter-exchange", deadLetterExchange);
+            arguments.put("x-dead-letter-routing-key", queue + DLQ_SUFFIX);
+            deadLetterQueue = declareQueue(QueueSpecification.queue(queue + DLQ_SUFFIX).durable(true).arguments(typeArguments(options)),
+                    deadLetterExchange, queue + DLQ_SUFFIX);
+        }
+
+        return declareQueue(QueueSpecification.queue(queue).durable(true).arguments(arguments), exchange, queue)
+                .then(deadLetterQueue);
+    }
+
+    /**
+     * Filas de espera de cada tentativa: a mensagem expira e volta, via dead-letter,
+     * para a fila de entrada do step.
+     */
+    private Mono<Void> declareRetryQueues(StepDefinition definition) {
+        RetryPolicy retry = definition.retry();
+        return Flux.range(1, retry.maxAttempts() - 1)
+                .flatMap(attempt -> sender.declareQueue(QueueSpecification.queue(retry.delayQueue(attempt))
+                        .durable(true)
+                        .arguments(Map.of(
+                                "x-message-ttl", retry.maxDelay(attempt),
+                                "x-dead-letter-exchange", exchange,
+                                "x-dead-letter-routing-key", definition.inputQueue()))))
+                .then();
+    }
+
+    private Mono<Void> declareQueue(QueueSpecification specification, String exchange, String routingKey) {
+        return sender.declareQueue(specification)
+                .then(sender.bind(BindingSpecification.binding()
+                        .exchange(exchange)
+                        .queue(specification.getName())
+                        .routingKey(routingKey)))
+                .then();
+    }
+
+    private static Map<String, Object> typeArguments(QueueOptions options) {
+        Map<String, Object> arguments = new HashMap<>();
+        if (options.type() == QueueType.QUORUM) {
+            arguments.put("x-queue-type", "quorum");
+        } else if (options.lazy()) {
+            arguments.put("x-queue-mode", "lazy");
+        }
+        return arguments;
+    }
+}
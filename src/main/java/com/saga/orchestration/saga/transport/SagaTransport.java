@@ -0,0 +1,25 @@
+package com.saga.orchestration.saga.transport;
+
+import java.util.Collection;
+
+import com.saga.orchestration.saga.StepDefinition;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.OutboundMessage;
+
+/**
+ * Transporte usado pelo {@code SagaEngine} para receber entregas dos steps e publicar saídas.
+ * A implementação padrão é {@link RabbitSagaTransport}.
+ */
+public interface SagaTransport {
+
+    /** Entregas da fila de entrada do step, respeitando prefetch e modo de ack do {@code @Step}. */
+    Flux<InboundDelivery> consume(StepDefinition definition);
+
+    /** Completa quando o transporte garante a entrega da mensagem (confirm, no caso do broker). */
+    Mono<Void> publish(OutboundMessage message);
+
+    /** Cria no broker as filas e ligações que os steps usam; chamado antes do primeiro {@link #consume}. */
+    Mono<Void> declareTopology(Collection<StepDefinition> steps);
+}
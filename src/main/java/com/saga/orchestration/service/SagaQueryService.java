@@ -0,0 +1,132 @@
+package com.saga.orchestration.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.dto.response.SagaPage;
+import com.saga.orchestration.dto.response.SagaSummary;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.model.SagaInstance;
+import com.saga.orchestration.model.SagaStepRecord;
+import com.saga.orchestration.repository.SagaExecutionRepository;
+import com.saga.orchestration.repository.SagaInstanceRepository;
+import com.saga.orchestration.saga.audit.AuditMode;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de sagas sobre a coleção do modo de auditoria ativo. A paginação é por keyset
+ * em (createdAt, _id), servida pelos índices criados no {@code MongoIndexInitializer}.
+ */
+@Component
+public class SagaQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SagaExecutionRepository executionRepository;
+    private final SagaInstanceRepository instanceRepository;
+    private final SagaProperties sagaProperties;
+
+    public SagaQueryService(ReactiveMongoTemplate mongoTemplate, SagaExecutionRepository executionRepository,
+            SagaInstanceRepository instanceRepository, SagaProperties sagaProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.executionRepository = executionRepository;
+        this.instanceRepository = instanceRepository;
+        this.sagaProperties = sagaProperties;
+    }
+
+    public Flux<SagaStepRecord> timeline(String correlationId) {
+        if (instanceMode()) {
+            return instanceRepository.findById(correlationId)
+                    .flatMapIterable(SagaInstance::getSteps);
+        }
+        return executionRepository.findByCorrelationIdOrderByCreatedAtAsc(correlationId)
+                .map(SagaStepRecord::from);
+    }
+
+    public Mono<SagaPage<SagaSummary>> page(String status, Instant from, Instant to, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Query query = keysetQuery(status, from, to, Cursor.decode(cursor), size);
+
+        if (instanceMode()) {
+            return toPage(mongoTemplate.find(query, SagaInstance.class), size,
+                    instance -> new SagaSummary(instance.getCorrelationId(), instance.getCurrentStep(),
+                            instance.getStatus(), instance.getCreatedAt(), instance.getUpdatedAt()),
+                    instance -> new Cursor(instance.getCreatedAt(), instance.getCorrelationId()));
+        }
+        return toPage(mongoTemplate.find(query, SagaExecution.class), size,
+                execution -> new SagaSummary(execution.getCorrelationId(), execution.getStepName(),
+                        execution.getStatus(), execution.getCreatedAt(), execution.getCreatedAt()),
+                execution -> new Cursor(execution.getCreatedAt(), execution.getId()));
+    }
+
+    private boolean instanceMode() {
+        return sagaProperties.getAudit().getMode() == AuditMode.INSTANCE;
+    }
+
+    private static Query keysetQuery(String status, Instant from, Instant to, Cursor cursor, int size) {
+        List<Criteria> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add(Criteria.where("status").is(status));
+        }
+        if (from != null) {
+            filters.add(Criteria.where("createdAt").gte(from));
+        }
+        if (to != null) {
+            filters.add(Criteria.where("createdAt").lt(to));
+        }
+        if (cursor != null) {
+            filters.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").gt(cursor.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(cursor.createdAt()),
+                            Criteria.where("_id").gt(cursor.id()))));
+        }
+        Criteria criteria = filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters);
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+                .limit(size);
+    }
+
+    private static <T> Mono<SagaPage<SagaSummary>> toPage(Flux<T> results, int size,
+            Function<T, SagaSummary> mapper, Function<T, Cursor> cursorOf) {
+        return results.collectList().map(items -> {
+            String next = (items.size() < size) ? null : cursorOf.apply(items.get(items.size() - 1)).encode();
+            return new SagaPage<>(items.stream().map(mapper).toList(), next);
+        });
+    }
+
+    record Cursor(Instant createdAt, String id) {
+
+        String encode() {
+            String raw = createdAt.toEpochMilli() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new Cursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+            }
+        }
+    }
+}
@@ -3,7 +3,14 @@ package com.saga.orchestration;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+/**
+ * Sobe o contexto com MongoDB embarcado e sem broker: a declaração da topologia, que bloqueia a
+ * inicialização, fica desligada, e os consumers apenas falham a conexão em segundo plano.
+ */
+@SpringBootTest(properties = {
+		"rabbitmq.declare-topology=false",
+		"de.flapdoodle.mongodb.embedded.version=7.0.12"
+})
 class OrchestrationApplicationTests {
 
 	@Test
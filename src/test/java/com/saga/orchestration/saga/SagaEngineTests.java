@@ -0,0 +1,494 @@
+package com.saga.orchestration.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import com.saga.orchestration.annotations.Fallback;
+import com.saga.orchestration.annotations.Join;
+import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.config.RabbitProperties;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.JoinSnapshot;
+import com.saga.orchestration.model.PayloadBlob;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.saga.audit.SagaAuditWriter;
+import com.saga.orchestration.saga.claimcheck.MongoPayloadBlobStore;
+import com.saga.orchestration.saga.claimcheck.PayloadStore;
+import com.saga.orchestration.saga.codec.JacksonCodec;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+import com.saga.orchestration.saga.dedup.DeduplicationCache;
+import com.saga.orchestration.saga.dedup.MongoProcessedMessageStore;
+import com.saga.orchestration.saga.join.JoinCoordinator;
+import com.saga.orchestration.saga.join.MongoJoinStore;
+import com.saga.orchestration.saga.publish.PublishException;
+import com.saga.orchestration.saga.publish.RejectedPublishException;
+import com.saga.orchestration.saga.retry.RetryPolicy;
+import com.saga.orchestration.saga.tracing.SagaTracing;
+import com.saga.orchestration.saga.transport.InboundDelivery;
+import com.saga.orchestration.saga.transport.SagaTransport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.rabbitmq.OutboundMessage;
+
+@DataMongoTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.12")
+@Import({JoinCoordinator.class, MongoJoinStore.class, SagaProperties.class, SimpleMeterRegistry.class})
+class SagaEngineTests {
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Autowired
+	private JoinCoordinator joins;
+
+	@Autowired
+	private SagaProperties sagaProperties;
+
+	@Autowired
+	private SimpleMeterRegistry meterRegistry;
+
+	private final GenericApplicationContext context = new GenericApplicationContext();
+	private final InMemoryTransport transport = new InMemoryTransport();
+	private final List<SagaExecution> audited = new CopyOnWriteArrayList<>();
+	private final AtomicInteger loads = new AtomicInteger();
+	private SagaAuditWriter auditWriter;
+	private PayloadStore payloads;
+	private SagaEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate.dropCollection(JoinSnapshot.class).block();
+		mongoTemplate.dropCollection(PayloadBlob.class).block();
+		sagaProperties.getDedup().setEnabled(true);
+		sagaProperties.getDeadline().setCompensateExpired(false);
+		sagaProperties.getTransport().setFusion(false);
+		context.registerBean(ConsolidacaoSaga.class);
+		context.registerBean(PropostaSaga.class);
+		context.registerBean(CobrancaSaga.class);
+		context.registerBean(AverbacaoSaga.class);
+		context.registerBean(OrdemSaga.class);
+		context.registerBean(FusaoSaga.class);
+		context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		engine.destroy();
+		auditWriter.destroy();
+		context.close();
+	}
+
+	@Test
+	void joinWaitsForAllBranchesWithDeduplicationDisabled() {
+		sagaProperties.getDedup().setEnabled(false);
+		start();
+
+		transport.deliver("proposta-consolidada", "saga-1", "cotacao", "cotacao_ok");
+		transport.deliver("proposta-consolidada", "saga-1", "analise", "analise_ok");
+
+		ConsolidacaoSaga saga = context.getBean(ConsolidacaoSaga.class);
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 2);
+		assertThat(saga.joined).hasSize(1);
+		assertThat(saga.joined.get(0)).containsOnlyKeys("cotacao", "analise");
+	}
+
+	@Test
+	void redeliveryWithoutCorrelationHeaderRunsTheStepOnce() {
+		start();
+		AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+				.contentType("text/plain")
+				.messageId("m-1")
+				.build();
+
+		transport.deliver("proposta-emissao", properties, "proposta");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		transport.deliver("proposta-emissao", properties, "proposta");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 2);
+
+		assertThat(context.getBean(PropostaSaga.class).emitted).hasValue(1);
+	}
+
+	@Test
+	void rejectedOutputDeadLettersTheInputInsteadOfRequeueing() {
+		start();
+		transport.results = message -> Mono.error(new RejectedPublishException("Mensagem sem rota para " + message.getRoutingKey()));
+
+		transport.deliver("proposta-emissao", "saga-1", null, "proposta");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.requeued.size() == 1);
+		assertThat(transport.requeued).containsExactly(false);
+	}
+
+	@Test
+	void unconfirmedOutputRequeuesTheInput() {
+		start();
+		transport.results = message -> Mono.error(new PublishException("Broker recusou a mensagem para " + message.getRoutingKey(), true));
+
+		transport.deliver("proposta-emissao", "saga-1", null, "proposta");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.requeued.size() == 1);
+		assertThat(transport.requeued).containsExactly(true);
+	}
+
+	@Test
+	void claimCheckedRedeliveryIsDeduplicatedBeforeLoadingThePayload() {
+		start();
+		String reference = payloads.store("proposta".getBytes(StandardCharsets.UTF_8), "text/plain").block();
+		AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+				.contentType("text/plain")
+				.messageId("m-2")
+				.headers(Map.of(SagaHeaders.CORRELATION_ID, "saga-2", SagaHeaders.CLAIM_CHECK, reference))
+				.build();
+
+		transport.deliver("proposta-emissao", properties, "");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		transport.deliver("proposta-emissao", properties, "");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 2);
+
+		assertThat(loads).hasValue(1);
+		assertThat(context.getBean(PropostaSaga.class).emitted).hasValue(1);
+	}
+
+	@Test
+	void missingClaimCheckPayloadIsAuditedAndDeadLettered() {
+		start();
+		AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+				.contentType("text/plain")
+				.messageId("m-3")
+				.headers(Map.of(SagaHeaders.CORRELATION_ID, "saga-3", SagaHeaders.CLAIM_CHECK, "sha256:expirado"))
+				.build();
+
+		transport.deliver("proposta-emissao", properties, "");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.requeued.size() == 1);
+		assertThat(transport.requeued).containsExactly(false);
+		await().atMost(Duration.ofSeconds(5)).until(() -> audited.stream().anyMatch(execution -> "FAILED".equals(execution.getStatus())));
+		assertThat(context.getBean(PropostaSaga.class).emitted).hasValue(0);
+	}
+
+	@Test
+	void failedStepIsRepublishedToTheDelayQueueOfItsAttempt() {
+		start();
+
+		transport.deliver("cobranca", "saga-4", null, "boleto");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		OutboundMessage first = transport.published.get(0);
+		assertThat(first.getExchange()).isEmpty();
+		assertThat(first.getRoutingKey()).isEqualTo("cobranca.retry.1");
+		assertThat(first.getProperties().getHeaders()).containsEntry(RetryPolicy.ATTEMPT_HEADER, 2);
+		assertThat(first.getProperties().getExpiration()).isEqualTo("100");
+		assertThat(first.getBody()).isEqualTo("boleto".getBytes(StandardCharsets.UTF_8));
+
+		transport.deliver("cobranca", first.getProperties(), "boleto");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 2);
+		OutboundMessage second = transport.published.get(1);
+		assertThat(second.getRoutingKey()).isEqualTo("cobranca.retry.2");
+		assertThat(second.getProperties().getHeaders()).containsEntry(RetryPolicy.ATTEMPT_HEADER, 3);
+		assertThat(second.getProperties().getExpiration()).isEqualTo("200");
+
+		// última tentativa: falha definitiva, sem nova publicação
+		transport.deliver("cobranca", second.getProperties(), "boleto");
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 3);
+		assertThat(transport.published).hasSize(2);
+		assertThat(context.getBean(CobrancaSaga.class).attempts).hasValue(3);
+		await().atMost(Duration.ofSeconds(5)).until(() -> audited.stream()
+				.anyMatch(execution -> "cobrar".equals(execution.getStepName()) && "FAILED".equals(execution.getStatus())));
+	}
+
+	@Test
+	void deadlineReachedDuringTheInvocationExpiresWithoutRetry() {
+		sagaProperties.getDeadline().setCompensateExpired(true);
+		start();
+		Map<String, Object> headers = new ConcurrentHashMap<>();
+		headers.put(SagaHeaders.CORRELATION_ID, "saga-5");
+		headers.put(SagaHeaders.DEADLINE, System.currentTimeMillis() + 300);
+
+		transport.deliver("averbacao", new AMQP.BasicProperties.Builder().contentType("text/plain").headers(headers).build(), "apolice");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		assertThat(transport.published).isEmpty();
+		assertThat(context.getBean(AverbacaoSaga.class).compensated).containsExactly("apolice");
+		await().atMost(Duration.ofSeconds(5)).until(() -> audited.stream()
+				.anyMatch(execution -> "averbar".equals(execution.getStepName()) && "EXPIRED".equals(execution.getStatus())));
+		assertThat(audited).noneMatch(execution -> "RETRYING".equals(execution.getStatus()));
+	}
+
+	@Test
+	void partitionedStepsKeepTheOrderOfEachSagaWhenSagasInterleave() {
+		start();
+		int sagas = 4;
+		int events = 10;
+		for (int event = 0; event < events; event++) {
+			for (int saga = 0; saga < sagas; saga++) {
+				transport.deliver("ordem-serial", "saga-" + saga, null, "saga-" + saga + ":" + event);
+				transport.deliver("ordem-particionada", "saga-" + saga, null, "saga-" + saga + ":" + event);
+			}
+		}
+
+		await().atMost(Duration.ofSeconds(10)).until(() -> transport.acks.get() == 2 * sagas * events);
+		OrdemSaga saga = context.getBean(OrdemSaga.class);
+		List<Integer> expected = IntStream.range(0, events).boxed().toList();
+		for (int i = 0; i < sagas; i++) {
+			assertThat(saga.serial.get("saga-" + i)).as("partitions=1, saga-%d", i).isEqualTo(expected);
+			assertThat(saga.partitioned.get("saga-" + i)).as("partitions=4, saga-%d", i).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void fusedStepRunsWithoutTheBrokerAndTheInputIsAckedAfterTheChain() {
+		sagaProperties.getTransport().setFusion(true);
+		start();
+		FusaoSaga saga = context.getBean(FusaoSaga.class);
+
+		transport.deliver("fusao-entrada", "saga-6", null, "pedido");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> saga.reserving.get() == 1);
+		assertThat(transport.acks).hasValue(0);
+		saga.gate.tryEmitValue(Boolean.TRUE);
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		assertThat(transport.published).isEmpty();
+		assertThat(transport.nacks).hasValue(0);
+		await().atMost(Duration.ofSeconds(5)).until(() -> audited.stream()
+				.anyMatch(execution -> "reservar".equals(execution.getStepName()) && "DONE".equals(execution.getStatus())
+						&& "saga-6".equals(execution.getCorrelationId())));
+		assertThat(saga.compensated).isEmpty();
+	}
+
+	@Test
+	void failedFusedStepIsAuditedAndCompensated() {
+		sagaProperties.getTransport().setFusion(true);
+		start();
+		FusaoSaga saga = context.getBean(FusaoSaga.class);
+		saga.gate.tryEmitValue(Boolean.TRUE);
+
+		transport.deliver("fusao-entrada", "saga-7", null, "falha");
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> transport.acks.get() == 1);
+		assertThat(transport.published).isEmpty();
+		assertThat(saga.compensated).singleElement().asString().contains("falha");
+		await().atMost(Duration.ofSeconds(5)).until(() -> audited.stream()
+				.anyMatch(execution -> "reservar".equals(execution.getStepName()) && "FAILED".equals(execution.getStatus())
+						&& "saga-7".equals(execution.getCorrelationId())));
+	}
+
+	private void start() {
+		SagaCodecs codecs = new SagaCodecs(JacksonCodec.defaults(new ObjectMapper()), sagaProperties);
+		auditWriter = new SagaAuditWriter(batch -> {
+			audited.addAll(batch);
+			return Mono.empty();
+		}, sagaProperties, meterRegistry);
+		payloads = new PayloadStore(sagaProperties, new MongoPayloadBlobStore(mongoTemplate), meterRegistry) {
+			@Override
+			public Mono<byte[]> load(String reference) {
+				loads.incrementAndGet();
+				return super.load(reference);
+			}
+		};
+		engine = new SagaEngine(transport, context, auditWriter, codecs,
+				new DeduplicationCache(sagaProperties, new MongoProcessedMessageStore(mongoTemplate), meterRegistry), joins,
+				payloads,
+				new SagaTracing(Tracer.NOOP, Propagator.NOOP, sagaProperties),
+				new RabbitProperties(), sagaProperties, meterRegistry);
+		engine.onApplicationEvent(null);
+	}
+
+	@Component
+	static class ConsolidacaoSaga {
+
+		final List<Map<String, Object>> joined = new CopyOnWriteArrayList<>();
+
+		@Join(branches = {"cotacao", "analise"})
+		@Step(consume = "proposta-consolidada")
+		public Mono<String> consolidar(Map<String, Object> ramos) {
+			joined.add(ramos);
+			return Mono.just("consolidado");
+		}
+	}
+
+	@Component
+	static class PropostaSaga {
+
+		final AtomicInteger emitted = new AtomicInteger();
+
+		@Step(consume = "proposta-emissao", produce = "proposta-emitida")
+		public Mono<String> emitirProposta(String proposta) {
+			emitted.incrementAndGet();
+			return Mono.just(proposta + "->emitida");
+		}
+	}
+
+	@Component
+	static class CobrancaSaga {
+
+		final AtomicInteger attempts = new AtomicInteger();
+
+		@Step(consume = "cobranca", maxAttempts = 3, initialBackoffMillis = 100, jitter = 0)
+		public Mono<String> cobrar(String boleto) {
+			attempts.incrementAndGet();
+			return Mono.error(new IllegalStateException("gateway indisponível"));
+		}
+	}
+
+	@Component
+	static class AverbacaoSaga {
+
+		final List<String> compensated = new CopyOnWriteArrayList<>();
+
+		@Step(consume = "averbacao", maxAttempts = 3, initialBackoffMillis = 100, jitter = 0)
+		public Mono<String> averbar(String apolice) {
+			return Mono.never();
+		}
+
+		@Fallback(forStep = "averbar")
+		public Mono<Void> desfazer(String apolice) {
+			compensated.add(apolice);
+			return Mono.empty();
+		}
+	}
+
+	/** Corpo {@code <correlationId>:<evento>}; eventos mais antigos demoram mais, então sem o trilho da saga a ordem se inverteria. */
+	@Component
+	static class OrdemSaga {
+
+		final Map<String, List<Integer>> serial = new ConcurrentHashMap<>();
+		final Map<String, List<Integer>> partitioned = new ConcurrentHashMap<>();
+
+		@Step(consume = "ordem-serial", partitions = 1)
+		public Mono<String> registrarSerial(String event) {
+			return register(serial, event);
+		}
+
+		@Step(consume = "ordem-particionada", partitions = 4)
+		public Mono<String> registrarParticionado(String event) {
+			return register(partitioned, event);
+		}
+
+		private static Mono<String> register(Map<String, List<Integer>> seen, String body) {
+			String[] parts = body.split(":");
+			int event = Integer.parseInt(parts[1]);
+			seen.computeIfAbsent(parts[0], saga -> new CopyOnWriteArrayList<>()).add(event);
+			return Mono.delay(Duration.ofMillis(10 - event)).thenReturn(body);
+		}
+	}
+
+	/** Dois steps locais encadeados: com fusão, {@code fusao-meio} não passa pelo broker. */
+	@Component
+	static class FusaoSaga {
+
+		final Sinks.One<Boolean> gate = Sinks.one();
+		final AtomicInteger reserving = new AtomicInteger();
+		final List<String> compensated = new CopyOnWriteArrayList<>();
+
+		@Step(consume = "fusao-entrada", produce = "fusao-meio")
+		public Mono<String> receber(String pedido) {
+			return Mono.just(pedido + "->recebido");
+		}
+
+		@Step(consume = "fusao-meio")
+		public Mono<String> reservar(String pedido) {
+			reserving.incrementAndGet();
+			return gate.asMono().flatMap(open -> pedido.startsWith("falha")
+					? Mono.error(new IllegalStateException("estoque indisponível"))
+					: Mono.just(pedido + "->reservado"));
+		}
+
+		@Fallback(forStep = "reservar")
+		public Mono<Void> liberar(String pedido) {
+			compensated.add(pedido);
+			return Mono.empty();
+		}
+	}
+
+	/** Transporte sem broker: cada fila é um sink e as publicações são apenas guardadas. */
+	static final class InMemoryTransport implements SagaTransport {
+
+		final Map<String, Sinks.Many<InboundDelivery>> queues = new ConcurrentHashMap<>();
+		final List<OutboundMessage> published = new CopyOnWriteArrayList<>();
+		final AtomicInteger acks = new AtomicInteger();
+		final AtomicInteger nacks = new AtomicInteger();
+		final List<Boolean> requeued = new CopyOnWriteArrayList<>();
+		volatile Function<OutboundMessage, Mono<Void>> results = message -> Mono.empty();
+
+		@Override
+		public Flux<InboundDelivery> consume(StepDefinition definition) {
+			return queue(definition.inputQueue()).asFlux();
+		}
+
+		@Override
+		public Mono<Void> publish(OutboundMessage message) {
+			published.add(message);
+			return results.apply(message);
+		}
+
+		@Override
+		public Mono<Void> declareTopology(Collection<StepDefinition> steps) {
+			return Mono.empty();
+		}
+
+		void deliver(String queue, String correlationId, String sourceStep, String body) {
+			Map<String, Object> headers = new ConcurrentHashMap<>();
+			if (correlationId != null) {
+				headers.put(SagaHeaders.CORRELATION_ID, correlationId);
+			}
+			if (sourceStep != null) {
+				headers.put(SagaHeaders.SOURCE_STEP, sourceStep);
+			}
+			deliver(queue, new AMQP.BasicProperties.Builder().contentType("text/plain").headers(headers).build(), body);
+		}
+
+		void deliver(String queue, AMQP.BasicProperties properties, String body) {
+			Delivery delivery = new Delivery(new Envelope(1, false, "", queue), properties, body.getBytes(StandardCharsets.UTF_8));
+			queue(queue).emitNext(new InboundDelivery() {
+				@Override
+				public Delivery delivery() {
+					return delivery;
+				}
+
+				@Override
+				public void ack() {
+					acks.incrementAndGet();
+				}
+
+				@Override
+				public void nack(boolean requeue) {
+					nacks.incrementAndGet();
+					requeued.add(requeue);
+				}
+			}, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+		}
+
+		private Sinks.Many<InboundDelivery> queue(String name) {
+			return queues.computeIfAbsent(name, key -> Sinks.many().unicast().onBackpressureBuffer());
+		}
+	}
+}
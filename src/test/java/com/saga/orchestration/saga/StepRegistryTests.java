@@ -0,0 +1,76 @@
+package com.saga.orchestration.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saga.orchestration.annotations.Step;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.saga.codec.JacksonCodec;
+import com.saga.orchestration.saga.codec.SagaCodecs;
+
+import reactor.core.publisher.Mono;
+
+class StepRegistryTests {
+
+	private final SagaCodecs codecs = new SagaCodecs(JacksonCodec.defaults(new ObjectMapper()), new SagaProperties());
+
+	@Test
+	void keepsStepsInBeanOrder() {
+		try (GenericApplicationContext context = context(EmissaoSaga.class, CotacaoSaga.class)) {
+			StepRegistry registry = StepRegistry.scan(context, codecs);
+
+			assertThat(registry.all()).extracting(StepDefinition::name).containsExactly("emitir", "cotar");
+			assertThat(registry.consumerOf("emissao").name()).isEqualTo("emitir");
+		}
+	}
+
+	@Test
+	void duplicateStepNameFailsAtStartup() {
+		try (GenericApplicationContext context = context(EmissaoSaga.class, OutraEmissaoSaga.class)) {
+			assertThatThrownBy(() -> StepRegistry.scan(context, codecs))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("emitir");
+		}
+	}
+
+	private static GenericApplicationContext context(Class<?>... beans) {
+		GenericApplicationContext context = new GenericApplicationContext();
+		for (Class<?> bean : beans) {
+			context.registerBean(bean);
+		}
+		context.refresh();
+		return context;
+	}
+
+	@Component
+	static class CotacaoSaga {
+
+		@Step(consume = "cotacao", produce = "emissao")
+		public Mono<String> cotar(String proposta) {
+			return Mono.just(proposta);
+		}
+	}
+
+	@Component
+	static class EmissaoSaga {
+
+		@Step(consume = "emissao")
+		public Mono<String> emitir(String proposta) {
+			return Mono.just(proposta);
+		}
+	}
+
+	@Component
+	static class OutraEmissaoSaga {
+
+		@Step(consume = "emissao-vida")
+		public Mono<String> emitir(String proposta) {
+			return Mono.just(proposta);
+		}
+	}
+}
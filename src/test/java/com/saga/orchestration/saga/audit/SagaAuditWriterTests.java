@@ -0,0 +1,133 @@
+package com.saga.orchestration.saga.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.SagaExecution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class SagaAuditWriterTests {
+
+	private final List<List<SagaExecution>> batches = new CopyOnWriteArrayList<>();
+
+	@Test
+	void writesFullBatchesWithoutWaitingForTheInterval() {
+		SagaAuditWriter writer = writer(properties(3, Duration.ofHours(1)), batch -> Mono.empty());
+
+		record(writer, 3);
+		await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+		record(writer, 3);
+		await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 2);
+		record(writer, 1);
+		writer.destroy();
+
+		assertThat(batches).extracting(List::size).containsExactly(3, 3, 1);
+	}
+
+	@Test
+	void flushesPartialBatchesOnTheInterval() {
+		SagaAuditWriter writer = writer(properties(500, Duration.ofMillis(50)), batch -> Mono.empty());
+
+		record(writer, 2);
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+		assertThat(batches.get(0)).hasSize(2);
+		writer.destroy();
+	}
+
+	@Test
+	void dropPolicyDiscardsEventsWhenTheQueueIsFull() {
+		SagaProperties.Audit properties = properties(500, Duration.ofHours(1));
+		properties.setCapacity(2);
+		properties.setOverflowPolicy(OverflowPolicy.DROP);
+		SagaAuditWriter writer = writer(properties, batch -> Mono.empty());
+
+		record(writer, 3);
+
+		assertThat(writer.queueDepth()).isEqualTo(2);
+		assertThat(writer.droppedCount()).isEqualTo(1);
+		writer.destroy();
+		assertThat(batches).extracting(List::size).containsExactly(2);
+	}
+
+	@Test
+	void blockPolicyGivesUpAfterTheBlockTimeout() {
+		SagaProperties.Audit properties = properties(500, Duration.ofHours(1));
+		properties.setCapacity(1);
+		properties.setOverflowPolicy(OverflowPolicy.BLOCK);
+		properties.setBlockTimeout(Duration.ofMillis(50));
+		SagaAuditWriter writer = writer(properties, batch -> Mono.empty());
+
+		record(writer, 2);
+
+		assertThat(writer.droppedCount()).isEqualTo(1);
+		writer.destroy();
+	}
+
+	@Test
+	void shutdownWaitsForTheInFlightBatchAndFlushesTheQueue() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		SagaAuditWriter writer = writer(properties(2, Duration.ofHours(1)), batch -> {
+			writing.countDown();
+			return Mono.delay(Duration.ofMillis(300)).then();
+		});
+
+		record(writer, 2);
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		record(writer, 3);
+		writer.destroy();
+
+		assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(writer.queueDepth()).isZero();
+	}
+
+	@Test
+	void shutdownGivesUpAfterTheTimeout() {
+		SagaProperties.Audit properties = properties(1, Duration.ofHours(1));
+		properties.setShutdownTimeout(Duration.ofMillis(200));
+		SagaAuditWriter writer = writer(properties, batch -> Mono.never());
+
+		record(writer, 1);
+		long start = System.nanoTime();
+		writer.destroy();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(batches).isEmpty();
+	}
+
+	/** Os lotes entram em {@code batches} só quando a escrita termina, não quando começa. */
+	private SagaAuditWriter writer(SagaProperties.Audit audit, Function<List<SagaExecution>, Mono<Void>> write) {
+		SagaProperties properties = new SagaProperties();
+		properties.setAudit(audit);
+		SagaAuditStore store = batch -> write.apply(batch).doOnSuccess(v -> batches.add(List.copyOf(batch)));
+		return new SagaAuditWriter(store, properties, new SimpleMeterRegistry());
+	}
+
+	private static SagaProperties.Audit properties(int batchSize, Duration flushInterval) {
+		SagaProperties.Audit properties = new SagaProperties.Audit();
+		properties.setBatchSize(batchSize);
+		properties.setFlushInterval(flushInterval);
+		return properties;
+	}
+
+	private static void record(SagaAuditWriter writer, int count) {
+		for (int i = 0; i < count; i++) {
+			SagaExecution execution = new SagaExecution();
+			execution.setCorrelationId("saga-" + i);
+			execution.setStatus("DONE");
+			writer.record(execution);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.saga.orchestration.saga.claimcheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.model.PayloadBlob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataMongoTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.12")
+@Import({PayloadStore.class, MongoPayloadBlobStore.class, SagaProperties.class, SimpleMeterRegistry.class})
+class PayloadStoreTests {
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Autowired
+	private PayloadStore payloadStore;
+
+	@Autowired
+	private SagaProperties sagaProperties;
+
+	@BeforeEach
+	void setUp() {
+		sagaProperties.getClaimCheck().setEnabled(true);
+		sagaProperties.getClaimCheck().setThreshold(1024);
+		mongoTemplate.dropCollection(PayloadBlob.class).block();
+	}
+
+	@Test
+	void storesEqualContentOnceCompressedAndLoadsItBack() {
+		byte[] body = "{\"apolice\":\"automovel\"}".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+		String first = payloadStore.store(body, "application/json").block();
+		String second = payloadStore.store(body.clone(), "application/json").block();
+
+		assertThat(first).startsWith(PayloadStore.REFERENCE_PREFIX).isEqualTo(second);
+		assertThat(mongoTemplate.count(new Query(), PayloadBlob.class).block()).isEqualTo(1);
+		PayloadBlob stored = mongoTemplate.findById(first, PayloadBlob.class).block();
+		assertThat(stored.isCompressed()).isTrue();
+		assertThat(stored.getData().length).isLessThan(body.length);
+		assertThat(payloadStore.load(first).block()).isEqualTo(body);
+	}
+
+	@Test
+	void storingExistingContentAgainRenewsItsTtl() {
+		byte[] body = "{\"apolice\":\"residencial\"}".repeat(500).getBytes(StandardCharsets.UTF_8);
+		String reference = payloadStore.store(body, "application/json").block();
+		Instant expiring = Instant.now().minus(Duration.ofDays(6));
+		mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(reference)), Update.update("createdAt", expiring), PayloadBlob.class).block();
+
+		// outra instância, sem a referência em cache, publica o mesmo conteúdo
+		new PayloadStore(sagaProperties, new MongoPayloadBlobStore(mongoTemplate), new SimpleMeterRegistry()).store(body, "application/json").block();
+
+		assertThat(mongoTemplate.findById(reference, PayloadBlob.class).block().getCreatedAt()).isAfter(expiring);
+	}
+
+	@Test
+	void auditThresholdIsMeasuredInUtf8Bytes() {
+		// 600 chars, 1200 bytes: acima do limite de 1024 bytes
+		String accented = "ç".repeat(600);
+
+		assertThat(PayloadStore.utf8Length(accented)).isEqualTo(1200);
+		assertThat(PayloadStore.utf8Length("a€\uD83D\uDE00")).isEqualTo(1 + 3 + 4);
+		assertThat(payloadStore.auditPayload(accented))
+				.isEqualTo(PayloadStore.reference(accented.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void auditKeepsSmallPayloadsInlineAndReferencesLargeOnes() {
+		String small = "pedido_ok";
+		String large = "x".repeat(4096);
+
+		assertThat(payloadStore.auditPayload(small)).isEqualTo(small);
+		assertThat(payloadStore.auditPayload(large))
+				.isEqualTo(PayloadStore.reference(large.getBytes(StandardCharsets.UTF_8)));
+	}
+}
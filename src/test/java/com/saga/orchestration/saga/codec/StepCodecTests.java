@@ -0,0 +1,153 @@
+package com.saga.orchestration.saga.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.dto.request.Notification;
+
+class StepCodecTests {
+
+	private static final Notification NOTIFICATION = new Notification("PROPOSTA_EMITIDA", "evt-1", "proposta-emissao", 1, "2024-01-01T00:00:00Z");
+
+	private final ObjectMapper json = new ObjectMapper();
+
+	@Test
+	void decodesJsonInput() throws Exception {
+		StepCodec codec = codec(SagaCodecs.JSON);
+
+		assertThat(codec.decode(json.writeValueAsBytes(NOTIFICATION), "application/json; charset=UTF-8")).isEqualTo(NOTIFICATION);
+	}
+
+	@Test
+	void decodesSmileInput() throws Exception {
+		StepCodec codec = codec(SagaCodecs.JSON);
+		byte[] body = json.copyWith(new SmileFactory()).writeValueAsBytes(NOTIFICATION);
+
+		assertThat(codec.decode(body, SagaCodecs.SMILE)).isEqualTo(NOTIFICATION);
+	}
+
+	@Test
+	void decodesCborInput() throws Exception {
+		StepCodec codec = codec(SagaCodecs.JSON);
+		byte[] body = json.copyWith(new CBORFactory()).writeValueAsBytes(NOTIFICATION);
+
+		assertThat(codec.decode(body, SagaCodecs.CBOR)).isEqualTo(NOTIFICATION);
+	}
+
+	@Test
+	void inputWithoutContentTypeIsReadAsJsonWhateverTheOutputFormat() throws Exception {
+		StepCodec codec = codec(SagaCodecs.SMILE);
+		byte[] body = json.writeValueAsBytes(NOTIFICATION);
+
+		assertThat(codec.decode(body, null)).isEqualTo(NOTIFICATION);
+		assertThat(codec.decode(body, "")).isEqualTo(NOTIFICATION);
+		assertThat(codec.decode(body, StepCodec.TEXT)).isEqualTo(NOTIFICATION);
+	}
+
+	@Test
+	void rawInputIsPassedAsText() throws Exception {
+		StepCodec codec = codecs(SagaCodecs.JSON).forStep(Void.class, Void.class);
+
+		assertThat(codec.decode("ok".getBytes(StandardCharsets.UTF_8), null)).isEqualTo("ok");
+		assertThat(codec.encode("feito")).isEqualTo("feito".getBytes(StandardCharsets.UTF_8));
+		assertThat(codec.outputContentType()).isEqualTo(StepCodec.TEXT);
+	}
+
+	@Test
+	void unsupportedContentTypeIsRejected() {
+		StepCodec codec = codec(SagaCodecs.JSON);
+
+		assertThatThrownBy(() -> codec.decode(new byte[0], "application/xml"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("application/xml");
+	}
+
+	@Test
+	void encodesInTheConfiguredFormat() throws Exception {
+		StepCodec codec = codec(SagaCodecs.CBOR);
+
+		byte[] body = codec.encode(NOTIFICATION);
+
+		assertThat(codec.outputContentType()).isEqualTo(SagaCodecs.CBOR);
+		assertThat(json.copyWith(new CBORFactory()).readValue(body, Notification.class)).isEqualTo(NOTIFICATION);
+	}
+
+	@Test
+	void binaryBodiesAreRenderedAsJsonText() throws Exception {
+		StepCodec codec = codec(SagaCodecs.JSON);
+		byte[] smile = json.copyWith(new SmileFactory()).writeValueAsBytes(NOTIFICATION);
+		byte[] cbor = json.copyWith(new CBORFactory()).writeValueAsBytes(NOTIFICATION);
+		byte[] text = json.writeValueAsBytes(NOTIFICATION);
+		String expected = new String(text, StandardCharsets.UTF_8);
+
+		assertThat(codec.toText(smile, SagaCodecs.SMILE)).isEqualTo(expected);
+		assertThat(codec.toText(cbor, SagaCodecs.CBOR)).isEqualTo(expected);
+		assertThat(codec.toText(text, SagaCodecs.JSON)).isEqualTo(expected);
+		assertThat(codec.toText(text, null)).isEqualTo(expected);
+	}
+
+	@Test
+	void unreadableBinaryBodyFallsBackToBase64() {
+		StepCodec codec = codec(SagaCodecs.JSON);
+		byte[] corrupt = {(byte) 0xff, (byte) 0xfe, 0x01};
+
+		assertThat(codec.toText(corrupt, SagaCodecs.SMILE)).isEqualTo(Base64.getEncoder().encodeToString(corrupt));
+	}
+
+	@Test
+	void additionalCodecIsSelectedByItsContentType() throws Exception {
+		List<SagaCodec> codecs = new ArrayList<>(JacksonCodec.defaults(json));
+		codecs.add(new JacksonCodec("application/vnd.saga+json", json, true));
+		SagaProperties properties = new SagaProperties();
+		properties.getCodec().setContentType("application/vnd.saga+json");
+		StepCodec codec = new SagaCodecs(codecs, properties).forStep(Notification.class, Notification.class);
+
+		assertThat(codec.decode(json.writeValueAsBytes(NOTIFICATION), "application/vnd.saga+json")).isEqualTo(NOTIFICATION);
+		assertThat(codec.outputContentType()).isEqualTo("application/vnd.saga+json");
+	}
+
+	@Test
+	void duplicateContentTypeIsRejected() {
+		List<SagaCodec> codecs = new ArrayList<>(JacksonCodec.defaults(json));
+		codecs.add(JacksonCodec.smile(json));
+
+		assertThatThrownBy(() -> new SagaCodecs(codecs, new SagaProperties()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining(SagaCodecs.SMILE);
+	}
+
+	@Test
+	void jsonCodecIsRequired() {
+		assertThatThrownBy(() -> new SagaCodecs(List.of(JacksonCodec.smile(json)), new SagaProperties()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining(SagaCodecs.JSON);
+	}
+
+	@Test
+	void unsupportedOutputFormatIsRejected() {
+		assertThatThrownBy(() -> codecs("application/xml"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("saga.codec.content-type");
+	}
+
+	private StepCodec codec(String outputContentType) {
+		return codecs(outputContentType).forStep(Notification.class, Notification.class);
+	}
+
+	private SagaCodecs codecs(String outputContentType) {
+		SagaProperties properties = new SagaProperties();
+		properties.getCodec().setContentType(outputContentType);
+		return new SagaCodecs(JacksonCodec.defaults(json), properties);
+	}
+}
@@ -0,0 +1,121 @@
+package com.saga.orchestration.saga.join;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.saga.orchestration.model.JoinSnapshot;
+import com.saga.orchestration.saga.StepDefinition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DataMongoTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.12")
+@Import({JoinCoordinator.class, MongoJoinStore.class, SimpleMeterRegistry.class})
+class JoinCoordinatorTests {
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Autowired
+	private JoinCoordinator joins;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate.dropCollection(JoinSnapshot.class).block();
+	}
+
+	@Test
+	void releasesOnceWhenQuorumIsReached() {
+		StepDefinition definition = definition(2, null);
+
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+		JoinState released = arrive(joins, definition, "analise");
+		assertThat(released).isNotNull();
+		assertThat(released.branches()).containsOnlyKeys("cotacao", "analise");
+		// ramo além do quorum não executa o join de novo
+		assertThat(arrive(joins, definition, "vistoria")).isNull();
+	}
+
+	@Test
+	void duplicateBranchDoesNotCountTowardsQuorum() {
+		StepDefinition definition = definition(0, null);
+
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+		assertThat(arrive(joins, definition, "analise")).isNull();
+		assertThat(arrive(joins, definition, "vistoria")).isNotNull();
+	}
+
+	@Test
+	void branchesOnDifferentInstancesShareTheQuorumAndSurviveRestart() {
+		StepDefinition definition = definition(2, null);
+		JoinCoordinator other = new JoinCoordinator(new MongoJoinStore(mongoTemplate), new SimpleMeterRegistry());
+
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+		assertThat(arrive(other, definition, "analise")).isNotNull();
+
+		// redelivery da entrega que liberou o join, e retry do step em outra instância
+		assertThat(arrive(joins, definition, "analise")).isNotNull();
+		JoinCoordinator restarted = new JoinCoordinator(new MongoJoinStore(mongoTemplate), new SimpleMeterRegistry());
+		assertThat(restarted.resume(definition, "saga-1").block()).isNotNull();
+
+		assertThat(restarted.finish(definition, "saga-1").block()).isNotNull();
+		assertThat(joins.finish(definition, "saga-1").block()).isNull();
+		assertThat(joins.resume(definition, "saga-1").block()).isNull();
+		assertThat(arrive(joins, definition, "analise")).isNull();
+	}
+
+	@Test
+	void expiresWithoutQuorumAndIgnoresLateBranches() {
+		StepDefinition definition = definition(0, Duration.ofMillis(200));
+		Sinks.One<JoinState> expired = Sinks.one();
+		joins.recover(List.of(definition), state -> {
+			expired.tryEmitValue(state);
+			return Mono.empty();
+		}).block();
+
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+
+		JoinState state = expired.asMono().block(Duration.ofSeconds(5));
+		assertThat(state.branches()).containsOnlyKeys("cotacao");
+		assertThat(JoinCoordinator.missing(definition, state)).containsExactly("analise", "vistoria");
+		assertThat(arrive(joins, definition, "analise")).isNull();
+		assertThat(arrive(joins, definition, "vistoria")).isNull();
+	}
+
+	@Test
+	void finishedJoinDropsLateBranchesWithoutGoingToTheStore() {
+		StepDefinition definition = definition(2, null);
+		assertThat(arrive(joins, definition, "cotacao")).isNull();
+		assertThat(arrive(joins, definition, "analise")).isNotNull();
+		assertThat(joins.finish(definition, "saga-1").block()).isNotNull();
+
+		// sem o documento, só o tier local sabe que o join terminou
+		mongoTemplate.dropCollection(JoinSnapshot.class).block();
+		assertThat(arrive(joins, definition, "vistoria")).isNull();
+		assertThat(mongoTemplate.count(new Query(), JoinSnapshot.class).block()).isZero();
+	}
+
+	private static JoinState arrive(JoinCoordinator coordinator, StepDefinition definition, String branch) {
+		return coordinator.arrive(definition, "saga-1", branch, (branch + "_ok").getBytes(StandardCharsets.UTF_8), "text/plain").block();
+	}
+
+	private static StepDefinition definition(int quorum, Duration timeout) {
+		List<String> branches = List.of("cotacao", "analise", "vistoria");
+		int required = (quorum <= 0) ? branches.size() : quorum;
+		return new StepDefinition("consolidar", null, null, null, null, null,
+				new JoinPolicy(branches, required, timeout), null, null);
+	}
+}
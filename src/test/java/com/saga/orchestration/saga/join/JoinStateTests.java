@@ -0,0 +1,51 @@
+package com.saga.orchestration.saga.join;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.saga.orchestration.model.JoinBranch;
+import com.saga.orchestration.model.JoinSnapshot;
+
+class JoinStateTests {
+
+	@Test
+	void quorumCountsDistinctBranches() {
+		JoinSnapshot snapshot = snapshot(List.of("cotacao", "analise"));
+
+		JoinState state = JoinState.of(snapshot);
+
+		assertThat(state.reached(2)).isTrue();
+		assertThat(state.reached(3)).isFalse();
+		assertThat(state.isReleased()).isFalse();
+		assertThat(state.branches()).containsOnlyKeys("cotacao", "analise");
+	}
+
+	@Test
+	void onlyTheReleasingBranchRunsTheJoinAgain() {
+		JoinSnapshot snapshot = snapshot(List.of("cotacao", "analise"));
+		snapshot.setReleasedBy("analise");
+
+		JoinState state = JoinState.of(snapshot);
+
+		assertThat(state.isReleased()).isTrue();
+		assertThat(state.releasedBy("analise")).isTrue();
+		assertThat(state.releasedBy("cotacao")).isFalse();
+	}
+
+	private static JoinSnapshot snapshot(List<String> arrived) {
+		JoinSnapshot snapshot = new JoinSnapshot();
+		snapshot.setId("consolidar|saga-1");
+		snapshot.setStepName("consolidar");
+		snapshot.setCorrelationId("saga-1");
+		snapshot.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+		arrived.forEach(branch -> snapshot.getBranches().put(branch,
+				new JoinBranch("text/plain", (branch + "_ok").getBytes(StandardCharsets.UTF_8))));
+		snapshot.getArrived().addAll(arrived);
+		return snapshot;
+	}
+}
@@ -0,0 +1,150 @@
+package com.saga.orchestration.saga.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AdaptiveLimiterTests {
+
+	private static final long RTT = Duration.ofMillis(10).toNanos();
+
+	@Test
+	void startsAtHalfTheMaximum() {
+		assertThat(new AdaptiveLimiter(1, 100).limit()).isEqualTo(50);
+		assertThat(new AdaptiveLimiter(8, 10).limit()).isEqualTo(8);
+	}
+
+	@Test
+	void stableLatencyUnderDemandGrowsUpToTheMaximum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 100);
+		int held = 0;
+
+		for (int i = 0; i < 200; i++) {
+			while (held < limiter.limit()) {
+				limiter.acquire().block();
+				held++;
+			}
+			int before = limiter.limit();
+			limiter.release(RTT, false);
+			held--;
+			assertThat(limiter.limit()).isGreaterThanOrEqualTo(before).isLessThanOrEqualTo(100);
+		}
+
+		assertThat(limiter.limit()).isEqualTo(100);
+	}
+
+	@Test
+	void limitDoesNotGrowWithoutDemand() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 100);
+
+		for (int i = 0; i < 200; i++) {
+			limiter.acquire().block();
+			limiter.release(RTT, false);
+		}
+
+		assertThat(limiter.limit()).isEqualTo(50);
+	}
+
+	@Test
+	void risingLatencyBacksOffDownToTheMinimum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(5, 100);
+		long rtt = 1_000;
+		limiter.acquire().block();
+		limiter.release(rtt, false);
+
+		int previous = limiter.limit();
+		for (int i = 0; i < 100; i++) {
+			rtt = rtt * 11 / 10;
+			limiter.acquire().block();
+			limiter.release(rtt, false);
+			assertThat(limiter.limit()).isLessThanOrEqualTo(previous).isGreaterThanOrEqualTo(5);
+			previous = limiter.limit();
+		}
+
+		assertThat(limiter.limit()).isEqualTo(5);
+	}
+
+	@Test
+	void errorsCutTheLimitByTenPercentDownToTheMinimum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(5, 100);
+
+		limiter.acquire().block();
+		limiter.release(RTT, true);
+		assertThat(limiter.limit()).isEqualTo(45);
+
+		for (int i = 0; i < 100; i++) {
+			limiter.acquire().block();
+			limiter.release(RTT, true);
+		}
+		assertThat(limiter.limit()).isEqualTo(5);
+	}
+
+	@Test
+	void waitersAreAdmittedWhenASlotIsReleased() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 2);
+		limiter.acquire().block();
+		AtomicBoolean admitted = new AtomicBoolean();
+
+		limiter.acquire().subscribe(null, null, () -> admitted.set(true));
+		assertThat(admitted).isFalse();
+
+		limiter.release(RTT, false);
+		assertThat(admitted).isTrue();
+	}
+
+	@Test
+	void cancelledWaiterDoesNotHoldASlot() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 2);
+		limiter.acquire().block();
+		limiter.acquire().subscribe().dispose();
+
+		limiter.release(RTT, false);
+
+		assertThat(acquiredImmediately(limiter)).isTrue();
+	}
+
+	@Test
+	void waiterCancelledAfterBeingAdmittedReturnsItsSlot() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 100);
+		for (int i = 0; i < 50; i++) {
+			limiter.acquire().block();
+		}
+		// a primeira liberação com latência estável sobe o limite para 51 e admite os dois waiters de uma vez;
+		// o primeiro cancela o segundo entre a admissão e o success(), que então não chega a ele
+		AtomicReference<Disposable> second = new AtomicReference<>();
+		limiter.acquire().subscribe(null, null, () -> second.get().dispose());
+		second.set(limiter.acquire().subscribe());
+
+		limiter.release(RTT, false);
+
+		assertThat(limiter.limit()).isEqualTo(51);
+		assertThat(acquiredImmediately(limiter)).isTrue();
+		assertThat(acquiredImmediately(limiter)).isFalse();
+	}
+
+	@Test
+	void limitReleasesTheSlotWhenTheSourceFinishes() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 2);
+
+		assertThat(limiter.limit(Mono.just("ok")).block()).isEqualTo("ok");
+		limiter.limit(Mono.error(new IllegalStateException())).onErrorResume(e -> Mono.empty()).block();
+
+		assertThat(acquiredImmediately(limiter)).isTrue();
+	}
+
+	private static boolean acquiredImmediately(AdaptiveLimiter limiter) {
+		AtomicBoolean acquired = new AtomicBoolean();
+		Disposable subscription = limiter.acquire().subscribe(null, null, () -> acquired.set(true));
+		if (!acquired.get()) {
+			subscription.dispose();
+		}
+		return acquired.get();
+	}
+}
@@ -0,0 +1,114 @@
+package com.saga.orchestration.saga.publish;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import com.rabbitmq.client.AMQP;
+import com.saga.orchestration.config.RabbitConnections;
+import com.saga.orchestration.config.SagaProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
+import reactor.rabbitmq.Receiver;
+import reactor.rabbitmq.ReceiverOptions;
+import reactor.rabbitmq.SendOptions;
+import reactor.rabbitmq.Sender;
+import reactor.rabbitmq.SenderOptions;
+
+class SagaPublisherTests {
+
+	private SagaPublisher publisher;
+
+	@AfterEach
+	void tearDown() {
+		publisher.destroy();
+	}
+
+	@Test
+	void publishesMandatoryAndCompletesOnConfirm() {
+		StubSender sender = new StubSender(message -> Mono.just(new OutboundMessageResult<>(message, true, false)));
+		publisher = publisher(sender, 256);
+
+		publisher.publish(message("criar-pedido")).block(Duration.ofSeconds(5));
+
+		assertThat(sender.options.isTrackReturned()).isTrue();
+	}
+
+	@Test
+	void returnedMessageFailsThePublication() {
+		StubSender sender = new StubSender(message -> Mono.just(new OutboundMessageResult<>(message, true, true)));
+		publisher = publisher(sender, 256);
+
+		assertThatThrownBy(() -> publisher.publish(message("sem-fila")).block(Duration.ofSeconds(5)))
+				.isInstanceOf(RejectedPublishException.class)
+				.hasMessageContaining("sem rota");
+	}
+
+	@Test
+	void brokerNackIsATransientFailure() {
+		StubSender sender = new StubSender(message -> Mono.just(new OutboundMessageResult<>(message, false, false)));
+		publisher = publisher(sender, 256);
+
+		assertThatThrownBy(() -> publisher.publish(message("criar-pedido")).block(Duration.ofSeconds(5)))
+				.isInstanceOfSatisfying(PublishException.class, e -> assertThat(e.isNack()).isTrue());
+	}
+
+	@Test
+	void fullLaneFailsFastInsteadOfWaitingForTheConfirmTimeout() {
+		// confirms nunca chegam: um em voo no sender e um no buffer da lane
+		StubSender sender = new StubSender(message -> Mono.never());
+		publisher = publisher(sender, 1);
+		publisher.publish(message("criar-pedido")).subscribe();
+		publisher.publish(message("criar-pedido")).subscribe();
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> publisher.publish(message("criar-pedido")).block(Duration.ofSeconds(5)))
+				.isInstanceOf(RejectedPublishException.class)
+				.hasMessageContaining("cheia");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+	}
+
+	private static SagaPublisher publisher(StubSender sender, int maxInFlight) {
+		SagaProperties properties = new SagaProperties();
+		properties.getPublisher().setChannels(1);
+		properties.getPublisher().setMaxInFlight(maxInFlight);
+		properties.getPublisher().setConfirmTimeout(Duration.ofSeconds(10));
+		Receiver receiver = new Receiver(new ReceiverOptions().connectionMono(Mono.never()));
+		return new SagaPublisher(new RabbitConnections(List.of(Mono.never()), List.of(receiver), List.of(sender)), properties);
+	}
+
+	private static OutboundMessage message(String routingKey) {
+		return new OutboundMessage("teste", routingKey, new AMQP.BasicProperties(), "pedido_ok".getBytes());
+	}
+
+	/** Sender sem broker: o resultado de cada mensagem vem da função, uma mensagem por vez. */
+	private static final class StubSender extends Sender {
+
+		private final Function<OutboundMessage, Mono<OutboundMessageResult<OutboundMessage>>> results;
+		private volatile SendOptions options;
+
+		StubSender(Function<OutboundMessage, Mono<OutboundMessageResult<OutboundMessage>>> results) {
+			super(new SenderOptions().connectionMono(Mono.never()));
+			this.results = results;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <OMSG extends OutboundMessage> Flux<OutboundMessageResult<OMSG>> sendWithTypedPublishConfirms(
+				Publisher<OMSG> messages, SendOptions options) {
+			this.options = options;
+			return Flux.from(messages)
+					.flatMap(message -> results.apply(message).map(result -> (OutboundMessageResult<OMSG>) (OutboundMessageResult<?>) result), 1);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.saga.orchestration.saga.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTests {
+
+	@Test
+	void singleAttemptDisablesRetries() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 1, 1000, 2.0, 0.0);
+
+		assertThat(policy.canRetry(1)).isFalse();
+	}
+
+	@Test
+	void retriesUntilTheLastAttempt() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 3, 1000, 2.0, 0.0);
+
+		assertThat(policy.canRetry(1)).isTrue();
+		assertThat(policy.canRetry(2)).isTrue();
+		assertThat(policy.canRetry(3)).isFalse();
+	}
+
+	@Test
+	void eachAttemptHasItsOwnDelayQueue() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 4, 1000, 2.0, 0.0);
+
+		assertThat(policy.delayQueue(1)).isEqualTo("criar-pedido.retry.1");
+		assertThat(policy.delayQueue(2)).isEqualTo("criar-pedido.retry.2");
+		assertThat(policy.delayQueue(3)).isEqualTo("criar-pedido.retry.3");
+	}
+
+	@Test
+	void backoffGrowsExponentially() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 4, 1000, 2.0, 0.0);
+
+		assertThat(policy.baseDelay(1)).isEqualTo(1000);
+		assertThat(policy.baseDelay(2)).isEqualTo(2000);
+		assertThat(policy.baseDelay(3)).isEqualTo(4000);
+	}
+
+	@Test
+	void withoutJitterTheDelayIsTheBackoff() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 4, 1000, 2.0, 0.0);
+
+		assertThat(policy.nextDelay(2)).isEqualTo(2000);
+		assertThat(policy.maxDelay(2)).isEqualTo(2000);
+	}
+
+	@Test
+	void jitterStaysWithinTheQueueTtl() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 4, 1000, 2.0, 0.25);
+
+		assertThat(policy.maxDelay(2)).isEqualTo(2500);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(policy.nextDelay(2)).isBetween(1500L, policy.maxDelay(2));
+		}
+	}
+
+	@Test
+	void delayIsNeverZero() {
+		RetryPolicy policy = new RetryPolicy("criar-pedido", 2, 0, 2.0, 1.0);
+
+		assertThat(policy.nextDelay(1)).isEqualTo(1);
+	}
+}
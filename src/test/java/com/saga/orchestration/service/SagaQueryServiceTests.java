@@ -0,0 +1,118 @@
+package com.saga.orchestration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.saga.orchestration.config.SagaProperties;
+import com.saga.orchestration.dto.response.SagaPage;
+import com.saga.orchestration.dto.response.SagaSummary;
+import com.saga.orchestration.model.SagaExecution;
+import com.saga.orchestration.model.SagaInstance;
+import com.saga.orchestration.model.SagaStepRecord;
+import com.saga.orchestration.saga.audit.AuditMode;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@DataMongoTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.12")
+@Import({SagaQueryService.class, SagaProperties.class})
+class SagaQueryServiceTests {
+
+	private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Autowired
+	private SagaQueryService queryService;
+
+	@Autowired
+	private SagaProperties sagaProperties;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate.dropCollection(SagaInstance.class)
+				.then(mongoTemplate.dropCollection(SagaExecution.class))
+				.block();
+	}
+
+	@Test
+	void pagesInstancesByKeysetWithoutGapsOrDuplicates() {
+		sagaProperties.getAudit().setMode(AuditMode.INSTANCE);
+		Flux.range(0, 7)
+				.map(i -> instance("saga-" + i, i % 2 == 0 ? "DONE" : "FAILED", BASE.plusSeconds(i / 2)))
+				.flatMap(mongoTemplate::insert)
+				.blockLast();
+
+		List<String> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			SagaPage<SagaSummary> page = queryService.page("DONE", null, null, cursor, 2).block();
+			page.items().forEach(item -> seen.add(item.correlationId()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		assertThat(seen).containsExactly("saga-0", "saga-2", "saga-4", "saga-6");
+	}
+
+	@Test
+	void pagesEventsWithinTimeWindow() {
+		sagaProperties.getAudit().setMode(AuditMode.EVENT);
+		Flux.range(0, 5)
+				.map(i -> execution("saga-" + i, "DONE", BASE.plusSeconds(i)))
+				.flatMap(mongoTemplate::insert)
+				.blockLast();
+
+		StepVerifier.create(queryService.page("DONE", BASE.plusSeconds(1), BASE.plusSeconds(4), null, 10))
+				.assertNext(page -> {
+					assertThat(page.items()).extracting(SagaSummary::correlationId)
+							.containsExactly("saga-1", "saga-2", "saga-3");
+					assertThat(page.nextCursor()).isNull();
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	void returnsTimelineInStepOrder() {
+		sagaProperties.getAudit().setMode(AuditMode.EVENT);
+		Flux.just(
+				execution("saga-x", "IN_PROGRESS", BASE),
+				execution("saga-x", "DONE", BASE.plusMillis(5)),
+				execution("saga-y", "DONE", BASE.plusMillis(1)))
+				.flatMap(mongoTemplate::insert)
+				.blockLast();
+
+		StepVerifier.create(queryService.timeline("saga-x").map(SagaStepRecord::getStatus))
+				.expectNext("IN_PROGRESS", "DONE")
+				.verifyComplete();
+	}
+
+	private static SagaInstance instance(String correlationId, String status, Instant createdAt) {
+		SagaInstance instance = new SagaInstance();
+		instance.setCorrelationId(correlationId);
+		instance.setStatus(status);
+		instance.setCurrentStep("criarPagamento");
+		instance.setCreatedAt(createdAt);
+		instance.setUpdatedAt(createdAt);
+		return instance;
+	}
+
+	private static SagaExecution execution(String correlationId, String status, Instant createdAt) {
+		SagaExecution execution = new SagaExecution();
+		execution.setCorrelationId(correlationId);
+		execution.setStepName("criarPagamento");
+		execution.setStatus(status);
+		execution.setCreatedAt(createdAt);
+		return execution;
+	}
+}